@@ -0,0 +1,68 @@
+// AnytimeResult.java in com.portfolio.algorithm
+package com.portfolio.algorithm;
+
+import com.portfolio.model.Portfolio;
+
+public class AnytimeResult {
+    private final Portfolio portfolio;
+    private final double upperBound;
+    private final long moves;
+    private final int restarts;
+    private final long elapsedNanos;
+
+    AnytimeResult(Portfolio portfolio, double upperBound, long moves, int restarts, long elapsedNanos) {
+        this.portfolio = portfolio;
+        this.upperBound = upperBound;
+        this.moves = moves;
+        this.restarts = restarts;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // Getters
+    public Portfolio getPortfolio() {
+        return portfolio;
+    }
+
+    /**
+     * @return Return of the LP relaxation, which no feasible portfolio can exceed
+     */
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    /**
+     * Relative optimality gap: the best portfolio is within this fraction of the optimum
+     *
+     * @return (upperBound - return) / upperBound, or 0 when the bound is 0
+     */
+    public double getGap() {
+        if (upperBound <= 0) {
+            return 0;
+        }
+        return Math.max(0, (upperBound - portfolio.getTotalReturn()) / upperBound);
+    }
+
+    /**
+     * @return Number of improving add, drop and swap moves applied
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    /**
+     * @return Number of perturbation restarts after the first local optimum
+     */
+    public int getRestarts() {
+        return restarts;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AnytimeResult{return=%.2f, bound=%.2f, gap=%.4f%%, moves=%d, restarts=%d, %.2f ms}",
+                portfolio.getTotalReturn(), upperBound, getGap() * 100, moves, restarts, elapsedNanos / 1e6);
+    }
+}
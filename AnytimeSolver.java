@@ -0,0 +1,451 @@
+// AnytimeSolver.java in com.portfolio.algorithm
+package com.portfolio.algorithm;
+
+import com.portfolio.model.CompactPortfolio;
+import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.InvestmentUniverse;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+
+public class AnytimeSolver {
+
+    // Slack used when comparing floating point risk sums against the tolerance and sector caps
+    private static final double EPSILON = 1e-9;
+
+    // Move evaluations between two reads of the clock
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    /**
+     * Finds the best portfolio it can within a time budget. Starts from the
+     * GreedySolver.solveBestRatioFirst selection (with investments dropped until the sector caps
+     * hold), then improves it by local search over add, drop and swap moves that keep the risk
+     * tolerance and sector caps satisfied. Each local optimum is perturbed by dropping a few
+     * random investments and searched again, keeping the best portfolio seen, until the
+     * deadline passes or the LP bound is reached. The greedy start always completes, so a
+     * feasible portfolio is returned even when the budget is spent before the search begins:
+     * the budget is met up to the cost of that start (one primitive sort and one pass over the
+     * investments), and every later pass checks the clock.
+     *
+     * @param investments List of available investment options
+     * @param riskTolerance Maximum risk tolerance
+     * @param maxSectorAllocation Maximum allocation per sector (as a fraction of total risk); 1 for no cap
+     * @param timeBudgetNanos Time budget in nanoseconds
+     * @return Best portfolio found with its optimality-gap bound
+     */
+    public static AnytimeResult solve(List<InvestmentOption> investments, double riskTolerance,
+                                      double maxSectorAllocation, long timeBudgetNanos) {
+        return solve(InvestmentUniverse.of(investments), riskTolerance, maxSectorAllocation, timeBudgetNanos);
+    }
+
+    /**
+     * Same as solve(List, double, double, long) over a struct-of-arrays universe
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance
+     * @param maxSectorAllocation Maximum allocation per sector (as a fraction of total risk); 1 for no cap
+     * @param timeBudgetNanos Time budget in nanoseconds
+     * @return Best portfolio found with its optimality-gap bound
+     */
+    public static AnytimeResult solve(InvestmentUniverse universe, double riskTolerance,
+                                      double maxSectorAllocation, long timeBudgetNanos) {
+        return solve(universe, riskTolerance, maxSectorAllocation, timeBudgetNanos, System::nanoTime);
+    }
+
+    /**
+     * Same as solve(InvestmentUniverse, double, double, long), reading the time from the given
+     * clock instead of System.nanoTime, e.g. a simulated one
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance
+     * @param maxSectorAllocation Maximum allocation per sector (as a fraction of total risk); 1 for no cap
+     * @param timeBudgetNanos Time budget in nanoseconds of the clock
+     * @param clock Monotonic time source in nanoseconds
+     * @return Best portfolio found with its optimality-gap bound
+     */
+    public static AnytimeResult solve(InvestmentUniverse universe, double riskTolerance,
+                                      double maxSectorAllocation, long timeBudgetNanos, LongSupplier clock) {
+        long start = clock.getAsLong();
+
+        LocalSearch search = new LocalSearch(universe, riskTolerance, maxSectorAllocation, start + timeBudgetNanos,
+                clock);
+        search.run();
+
+        return new AnytimeResult(search.best.toPortfolio(), search.upperBound, search.moves, search.restarts,
+                clock.getAsLong() - start);
+    }
+
+    /**
+     * Search state; the current and best selections are compact portfolios so moves never allocate
+     */
+    private static final class LocalSearch {
+        private final InvestmentUniverse universe;
+        private final int n;
+        private final double riskTolerance;
+        private final double maxSectorAllocation;
+        private final boolean capped;
+        private final long deadline;
+        private final LongSupplier clock;
+
+        private final int[] ratioOrder;    // as in GreedySolver.solveBestRatioFirst
+        private final int[] returnOrder;   // expected return descending; empty if the budget ran out first
+        private final double upperBound;
+
+        private final CompactPortfolio current;
+        private final CompactPortfolio best;
+        private final CompactPortfolio scratch;
+        private final int[] selected;
+        private final int[] tabu;          // restart in which an investment was dropped and may not be re-added
+        private final int[] droppedInRepair;
+        private final int[] dropCursor;    // per sector, position in ratioOrder where the next drop scan starts
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        private long evaluations;
+        private boolean expired;
+        private long moves;
+        private int restarts;
+        private int repairs;
+        private int stalls;                // restarts since the best portfolio last improved
+
+        LocalSearch(InvestmentUniverse universe, double riskTolerance, double maxSectorAllocation, long deadline,
+                    LongSupplier clock) {
+            this.universe = universe;
+            this.n = universe.size();
+            this.riskTolerance = riskTolerance;
+            this.maxSectorAllocation = maxSectorAllocation;
+            this.capped = maxSectorAllocation < 1.0;
+            this.deadline = deadline;
+            this.clock = clock;
+
+            this.ratioOrder = GreedySolver.bestRatioOrder(universe);
+            if (clock.getAsLong() - deadline < 0) {
+                double[] returns = new double[n];
+                for (int i = 0; i < n; i++) {
+                    returns[i] = universe.getExpectedReturn(i);
+                }
+                this.returnOrder = GreedySolver.sortedOrder(returns);
+            } else {
+                this.returnOrder = new int[0]; // no time left for swaps
+            }
+            this.upperBound = lpBound();
+
+            this.current = new CompactPortfolio(universe);
+            this.best = new CompactPortfolio(universe);
+            this.scratch = new CompactPortfolio(universe);
+            this.selected = new int[n];
+            this.tabu = new int[n];
+            Arrays.fill(tabu, -1);
+            this.droppedInRepair = new int[n];
+            this.dropCursor = new int[universe.getSectorCount()];
+        }
+
+        void run() {
+            greedyStart();
+            repairCaps();
+            best.copyFrom(current);
+
+            while (!expired) {
+                improve();
+                if (current.getTotalReturn() > best.getTotalReturn() + EPSILON) {
+                    best.copyFrom(current);
+                    stalls = 0;
+                } else {
+                    stalls++;
+                }
+                if (expired || n == 0 || best.getTotalReturn() >= upperBound - EPSILON
+                        || clock.getAsLong() - deadline >= 0) {
+                    return;
+                }
+
+                restarts++;
+                current.copyFrom(best);
+                perturb();
+            }
+        }
+
+        /**
+         * The selection GreedySolver.solveBestRatioFirst returns
+         */
+        private void greedyStart() {
+            double remaining = riskTolerance;
+            for (int i : ratioOrder) {
+                double risk = universe.getRiskFactor(i);
+                if (risk <= remaining) {
+                    current.add(i);
+                    remaining -= risk;
+                }
+            }
+        }
+
+        /**
+         * Restores the sector caps. While a sector is over its cap, adds the best-ratio investment
+         * from another sector that fits the tolerance (raising the total and so every cap, which
+         * can be worth it even for a negative-return investment); when
+         * none fits, drops the worst-ratio investment of the most over-allocated sector. Investments
+         * dropped here are not re-added by the same repair, so it ends after at most 2n steps, and
+         * after the deadline it only drops. Each sector's drop scan resumes where its last one
+         * stopped, so the drops of one repair walk ratioOrder about once per sector.
+         */
+        private void repairCaps() {
+            if (!capped) {
+                return;
+            }
+            repairs++;
+            Arrays.fill(dropCursor, ratioOrder.length - 1);
+            while (true) {
+                int worstSector = mostOverAllocatedSector();
+                if (worstSector < 0) {
+                    return;
+                }
+                if (!expired && addOutsideSector(worstSector)) {
+                    continue;
+                }
+                if (!dropWorst(worstSector)) {
+                    // An investment added behind the cursor; scan the whole order once more
+                    dropCursor[worstSector] = ratioOrder.length - 1;
+                    dropWorst(worstSector);
+                }
+            }
+        }
+
+        private boolean dropWorst(int sector) {
+            for (int k = dropCursor[sector]; k >= 0; k--) {
+                int i = ratioOrder[k];
+                if (current.contains(i) && universe.getSectorId(i) == sector) {
+                    current.remove(i);
+                    droppedInRepair[i] = repairs;
+                    dropCursor[sector] = k - 1;
+                    return true;
+                }
+            }
+            dropCursor[sector] = -1;
+            return false;
+        }
+
+        private int mostOverAllocatedSector() {
+            double cap = maxSectorAllocation * current.getTotalRisk() + EPSILON;
+            int worstSector = -1;
+            double worstExcess = 0;
+            for (int s = 0; s < universe.getSectorCount(); s++) {
+                double excess = current.getSectorRisk(s) - cap;
+                if (excess > worstExcess) {
+                    worstExcess = excess;
+                    worstSector = s;
+                }
+            }
+            return worstSector;
+        }
+
+        private boolean addOutsideSector(int overSector) {
+            for (int i : ratioOrder) {
+                if (tick()) {
+                    return false;
+                }
+                int sector = universe.getSectorId(i);
+                double risk = universe.getRiskFactor(i);
+                if (sector == overSector || current.contains(i)
+                        || droppedInRepair[i] == repairs || current.getTotalRisk() + risk > riskTolerance + EPSILON) {
+                    continue;
+                }
+                current.add(i);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Applies improving moves until none is left or the deadline passes
+         */
+        private void improve() {
+            boolean improved = true;
+            while (improved && !expired) {
+                improved = tryAdds();
+                improved |= tryDrops();
+                improved |= trySwaps();
+            }
+        }
+
+        private boolean tryAdds() {
+            boolean improved = false;
+            for (int i : ratioOrder) {
+                if (tick()) {
+                    break;
+                }
+                if (universe.getExpectedReturn(i) <= 0 || tabu[i] >= restarts || current.contains(i)) {
+                    continue;
+                }
+                double risk = universe.getRiskFactor(i);
+                if (fits(risk, -1, 0, universe.getSectorId(i), risk)) {
+                    current.add(i);
+                    moves++;
+                    improved = true;
+                } else if (capped && current.getTotalRisk() + risk <= riskTolerance + EPSILON && addWithRepair(i)) {
+                    moves++;
+                    improved = true;
+                }
+            }
+            return improved;
+        }
+
+        /**
+         * Adds an investment its sector cap blocks, then repairs the caps around it; kept only if
+         * the repaired portfolio earns more than before
+         */
+        private boolean addWithRepair(int i) {
+            scratch.copyFrom(current);
+            current.add(i);
+            repairCaps();
+            if (current.getTotalReturn() > scratch.getTotalReturn() + EPSILON) {
+                return true;
+            }
+            current.copyFrom(scratch);
+            return false;
+        }
+
+        private boolean tryDrops() {
+            boolean improved = false;
+            int count = collectSelected();
+            for (int k = 0; k < count && !tick(); k++) {
+                int i = selected[k];
+                double risk = universe.getRiskFactor(i);
+                if (universe.getExpectedReturn(i) < 0 && fits(-risk, universe.getSectorId(i), -risk, -1, 0)) {
+                    current.remove(i);
+                    moves++;
+                    improved = true;
+                }
+            }
+            return improved;
+        }
+
+        /**
+         * For each selected investment, swaps in the highest-return unselected one that fits in its place
+         */
+        private boolean trySwaps() {
+            boolean improved = false;
+            int count = collectSelected();
+            for (int k = 0; k < count && !expired; k++) {
+                int out = selected[k];
+                double outReturn = universe.getExpectedReturn(out);
+                double outRisk = universe.getRiskFactor(out);
+                int outSector = universe.getSectorId(out);
+
+                for (int in : returnOrder) {
+                    if (universe.getExpectedReturn(in) <= outReturn + EPSILON || tick()) {
+                        break; // returnOrder is descending, so no later candidate improves either
+                    }
+                    if (current.contains(in)) {
+                        continue;
+                    }
+                    double inRisk = universe.getRiskFactor(in);
+                    if (fits(inRisk - outRisk, outSector, -outRisk, universe.getSectorId(in), inRisk)) {
+                        current.remove(out);
+                        current.add(in);
+                        moves++;
+                        improved = true;
+                        break;
+                    }
+                }
+            }
+            return improved;
+        }
+
+        /**
+         * Drops a few random investments, then bars them from being re-added by the next add pass.
+         * The number dropped grows while restarts keep failing to improve, so the search reaches
+         * further from the best portfolio before settling back.
+         */
+        private void perturb() {
+            int count = collectSelected();
+            if (count == 0) {
+                return;
+            }
+            int drops = Math.min(count, Math.max(1, count / 8) + stalls % (count / 2 + 1));
+            for (int d = 0; d < drops; d++) {
+                int k = d + random.nextInt(count - d);
+                int i = selected[k];
+                selected[k] = selected[d];
+                selected[d] = i;
+                current.remove(i);
+                tabu[i] = restarts;
+            }
+            repairCaps();
+        }
+
+        /**
+         * Checks the tolerance and sector caps after a move that changes the total risk by
+         * totalDelta, sector a by deltaA and sector b by deltaB (-1 for no sector)
+         */
+        private boolean fits(double totalDelta, int sectorA, double deltaA, int sectorB, double deltaB) {
+            double total = current.getTotalRisk() + totalDelta;
+            if (total > riskTolerance + EPSILON) {
+                return false;
+            }
+            if (!capped) {
+                return true;
+            }
+            double cap = maxSectorAllocation * total + EPSILON;
+            for (int s = 0; s < universe.getSectorCount(); s++) {
+                double risk = current.getSectorRisk(s);
+                if (s == sectorA) {
+                    risk += deltaA;
+                }
+                if (s == sectorB) {
+                    risk += deltaB;
+                }
+                if (risk > cap) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Lists the current selection, stopping early (with a partial list) at the deadline
+         */
+        private int collectSelected() {
+            int count = 0;
+            for (int i = current.nextSelected(0); i >= 0 && !tick(); i = current.nextSelected(i + 1)) {
+                selected[count++] = i;
+            }
+            return count;
+        }
+
+        /**
+         * Counts one move evaluation and reads the clock every DEADLINE_CHECK_INTERVAL of them
+         *
+         * @return true once the deadline has passed
+         */
+        private boolean tick() {
+            if (++evaluations % DEADLINE_CHECK_INTERVAL == 0 && clock.getAsLong() - deadline >= 0) {
+                expired = true;
+            }
+            return expired;
+        }
+
+        /**
+         * Dantzig bound: the fractional knapsack over positive-return investments in ratio order.
+         * Dropping the sector caps only relaxes the problem further, so the bound holds with them too.
+         */
+        private double lpBound() {
+            double remaining = riskTolerance;
+            double bound = 0;
+            for (int i : ratioOrder) {
+                double expectedReturn = universe.getExpectedReturn(i);
+                double risk = universe.getRiskFactor(i);
+                if (expectedReturn <= 0) {
+                    continue;
+                }
+                if (risk <= remaining) {
+                    bound += expectedReturn;
+                    remaining -= risk;
+                } else {
+                    bound += expectedReturn * remaining / risk;
+                    break;
+                }
+            }
+            return bound;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+// BatchOptimizer.java in com.portfolio.algorithm
+package com.portfolio.algorithm;
+
+import com.portfolio.model.ClientRequest;
+import com.portfolio.model.ClientResult;
+import com.portfolio.model.InvestmentUniverse;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class BatchOptimizer {
+    private final InvestmentUniverse universe;
+    private final Executor executor;
+
+    /**
+     * Creates a batch optimizer that runs on the common fork/join pool
+     *
+     * @param universe Investments shared by every client
+     */
+    public BatchOptimizer(InvestmentUniverse universe) {
+        this(universe, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a batch optimizer that runs its groups on the given executor
+     *
+     * @param universe Investments shared by every client
+     * @param executor Executor for the per-group DP passes
+     */
+    public BatchOptimizer(InvestmentUniverse universe, Executor executor) {
+        this.universe = universe;
+        this.executor = executor;
+    }
+
+    /**
+     * Optimizes one portfolio per client request. Requests with the same eligible set are
+     * grouped, and each group costs a single DP pass: one efficient frontier up to the group's
+     * largest tolerance answers every tolerance in it, with the same result as solveWithDP.
+     * Risks are scaled once for the shared universe, and groups reuse those scaled values.
+     * Groups run concurrently on the executor, largest first, and every result is handed to the
+     * sink as soon as it is reconstructed, so the sink may be called from several threads.
+     *
+     * @param requests Client requests
+     * @param sink Receives each result as it completes
+     * @return Future that completes once every result has been delivered
+     */
+    public CompletableFuture<Void> optimize(Stream<ClientRequest> requests, Consumer<ClientResult> sink) {
+        Map<BitSet, List<ClientRequest>> groups = new LinkedHashMap<>();
+        requests.forEach(request -> groups.computeIfAbsent(eligibleKey(request), k -> new ArrayList<>()).add(request));
+
+        // Longest groups first keeps the executor busy until the end of the batch
+        List<Map.Entry<BitSet, List<ClientRequest>>> ordered = new ArrayList<>(groups.entrySet());
+        ordered.sort((a, b) -> Double.compare(groupCost(b), groupCost(a)));
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[ordered.size()];
+        for (int g = 0; g < futures.length; g++) {
+            Map.Entry<BitSet, List<ClientRequest>> group = ordered.get(g);
+            futures[g] = CompletableFuture.runAsync(() -> solveGroup(group.getKey(), group.getValue(), sink), executor);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Blocking variant of optimize that collects the results
+     *
+     * @param requests Client requests
+     * @return One result per request, in request order
+     */
+    public List<ClientResult> optimizeAll(List<ClientRequest> requests) {
+        Map<ClientRequest, ClientResult> results = new ConcurrentHashMap<>();
+        optimize(requests.stream(), result -> results.put(result.getRequest(), result)).join();
+
+        List<ClientResult> ordered = new ArrayList<>(requests.size());
+        for (ClientRequest request : requests) {
+            ordered.add(results.get(request));
+        }
+        return ordered;
+    }
+
+    private void solveGroup(BitSet eligible, List<ClientRequest> requests, Consumer<ClientResult> sink) {
+        InvestmentUniverse groupUniverse = eligible == null ? universe : universe.subset(eligible.stream().toArray());
+
+        double maxRiskTolerance = 0;
+        for (ClientRequest request : requests) {
+            maxRiskTolerance = Math.max(maxRiskTolerance, request.getRiskTolerance());
+        }
+
+        EfficientFrontier frontier = KnapsackSolver.buildEfficientFrontier(groupUniverse, maxRiskTolerance);
+        for (ClientRequest request : requests) {
+            sink.accept(new ClientResult(request, frontier.portfolioAt(request.getRiskTolerance())));
+        }
+    }
+
+    /**
+     * Grouping key of a request; null stands for the whole universe
+     */
+    private BitSet eligibleKey(ClientRequest request) {
+        BitSet eligible = request.getEligible();
+        if (eligible == null) {
+            return null;
+        }
+        if (eligible.length() > universe.size()) {
+            throw new IllegalArgumentException("Client " + request.getClientId() + " is eligible for investment "
+                    + (eligible.length() - 1) + " outside a universe of " + universe.size());
+        }
+        return eligible.cardinality() == universe.size() ? null : eligible;
+    }
+
+    /**
+     * Rough DP cost of a group: eligible investments times the widest table it needs
+     */
+    private double groupCost(Map.Entry<BitSet, List<ClientRequest>> group) {
+        int n = group.getKey() == null ? universe.size() : group.getKey().cardinality();
+        double maxRiskTolerance = 0;
+        for (ClientRequest request : group.getValue()) {
+            maxRiskTolerance = Math.max(maxRiskTolerance, request.getRiskTolerance());
+        }
+        return (double) n * maxRiskTolerance;
+    }
+}
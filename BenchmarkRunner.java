@@ -0,0 +1,30 @@
+// BenchmarkRunner.java in com.portfolio.benchmark
+package com.portfolio.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+
+    /**
+     * Runs every benchmark in this package with the GC profiler attached, so each result also
+     * reports bytes allocated per operation (gc.alloc.rate.norm). An optional argument is a
+     * regular expression selecting benchmarks, e.g. "SolverBenchmark.greedy.*".
+     *
+     * @param args Optional benchmark filter
+     * @throws RunnerException If JMH fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
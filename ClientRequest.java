@@ -0,0 +1,61 @@
+// ClientRequest.java in com.portfolio.model
+package com.portfolio.model;
+
+import java.util.BitSet;
+
+public class ClientRequest {
+    private final String clientId;
+    private final double riskTolerance;
+    private final BitSet eligible;   // null when every investment is eligible
+
+    /**
+     * Creates a request restricted to a subset of the universe
+     *
+     * @param clientId Identifier echoed back in the result
+     * @param riskTolerance Maximum risk tolerance for this client
+     * @param eligible Indices of the universe investments this client may hold, or null for all
+     */
+    public ClientRequest(String clientId, double riskTolerance, BitSet eligible) {
+        if (riskTolerance < 0) {
+            throw new IllegalArgumentException("Risk tolerance must not be negative, got " + riskTolerance);
+        }
+        this.clientId = clientId;
+        this.riskTolerance = riskTolerance;
+        this.eligible = eligible != null ? (BitSet) eligible.clone() : null;
+    }
+
+    /**
+     * Creates a request that may hold any investment of the universe
+     *
+     * @param clientId Identifier echoed back in the result
+     * @param riskTolerance Maximum risk tolerance for this client
+     */
+    public ClientRequest(String clientId, double riskTolerance) {
+        this(clientId, riskTolerance, null);
+    }
+
+    // Getters
+    public String getClientId() {
+        return clientId;
+    }
+
+    public double getRiskTolerance() {
+        return riskTolerance;
+    }
+
+    /**
+     * @return Copy of the eligible indices, or null if every investment is eligible
+     */
+    public BitSet getEligible() {
+        return eligible != null ? (BitSet) eligible.clone() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientRequest{" +
+                "clientId='" + clientId + '\'' +
+                ", riskTolerance=" + riskTolerance +
+                ", eligible=" + (eligible != null ? eligible.cardinality() + " investments" : "all") +
+                '}';
+    }
+}
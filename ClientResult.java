@@ -0,0 +1,34 @@
+// ClientResult.java in com.portfolio.model
+package com.portfolio.model;
+
+public class ClientResult {
+    private final ClientRequest request;
+    private final Portfolio portfolio;
+
+    public ClientResult(ClientRequest request, Portfolio portfolio) {
+        this.request = request;
+        this.portfolio = portfolio;
+    }
+
+    // Getters
+    public ClientRequest getRequest() {
+        return request;
+    }
+
+    public String getClientId() {
+        return request.getClientId();
+    }
+
+    public Portfolio getPortfolio() {
+        return portfolio;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientResult{" +
+                "clientId='" + request.getClientId() + '\'' +
+                ", totalReturn=" + portfolio.getTotalReturn() +
+                ", totalRisk=" + portfolio.getTotalRisk() +
+                '}';
+    }
+}
@@ -0,0 +1,186 @@
+// CompactPortfolio.java in com.portfolio.model
+package com.portfolio.model;
+
+import java.util.Arrays;
+
+public final class CompactPortfolio {
+    private final InvestmentUniverse universe;
+    private final long[] selection;       // bit i set when investment i is selected
+    private final double[] sectorRisk;    // indexed by sector id
+    private int size;
+    private double totalRisk;
+    private double totalReturn;
+    private long totalScaledRisk;
+
+    /**
+     * Creates an empty selection over the given universe. Adding or removing an investment
+     * updates primitive totals only, so candidate portfolios can be evaluated without allocating.
+     *
+     * @param universe Investments that can be selected
+     */
+    public CompactPortfolio(InvestmentUniverse universe) {
+        this.universe = universe;
+        this.selection = new long[(universe.size() + 63) >>> 6];
+        this.sectorRisk = new double[universe.getSectorCount()];
+    }
+
+    /**
+     * Selects an investment
+     *
+     * @param index Investment index in the universe
+     * @return true if the investment was not already selected
+     */
+    public boolean add(int index) {
+        long bit = 1L << index;
+        int word = index >>> 6;
+        if ((selection[word] & bit) != 0) {
+            return false;
+        }
+        selection[word] |= bit;
+        size++;
+        double risk = universe.getRiskFactor(index);
+        totalRisk += risk;
+        totalReturn += universe.getExpectedReturn(index);
+        totalScaledRisk += universe.getScaledRisk(index);
+        sectorRisk[universe.getSectorId(index)] += risk;
+        return true;
+    }
+
+    /**
+     * Deselects an investment
+     *
+     * @param index Investment index in the universe
+     * @return true if the investment was selected
+     */
+    public boolean remove(int index) {
+        long bit = 1L << index;
+        int word = index >>> 6;
+        if ((selection[word] & bit) == 0) {
+            return false;
+        }
+        selection[word] &= ~bit;
+        size--;
+        double risk = universe.getRiskFactor(index);
+        totalRisk -= risk;
+        totalReturn -= universe.getExpectedReturn(index);
+        totalScaledRisk -= universe.getScaledRisk(index);
+        sectorRisk[universe.getSectorId(index)] -= risk;
+        return true;
+    }
+
+    public boolean contains(int index) {
+        return (selection[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Deselects every investment, keeping the allocated arrays
+     */
+    public void clear() {
+        Arrays.fill(selection, 0L);
+        Arrays.fill(sectorRisk, 0.0);
+        size = 0;
+        totalRisk = 0.0;
+        totalReturn = 0.0;
+        totalScaledRisk = 0;
+    }
+
+    /**
+     * Overwrites this selection with another one over the same universe, without allocating
+     *
+     * @param other Selection to copy
+     */
+    public void copyFrom(CompactPortfolio other) {
+        if (other.universe != universe) {
+            throw new IllegalArgumentException("Portfolios belong to different universes");
+        }
+        System.arraycopy(other.selection, 0, selection, 0, selection.length);
+        System.arraycopy(other.sectorRisk, 0, sectorRisk, 0, sectorRisk.length);
+        size = other.size;
+        totalRisk = other.totalRisk;
+        totalReturn = other.totalReturn;
+        totalScaledRisk = other.totalScaledRisk;
+    }
+
+    /**
+     * @return Independent copy of this selection
+     */
+    public CompactPortfolio copy() {
+        CompactPortfolio copy = new CompactPortfolio(universe);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Index of the first selected investment at or after the given index
+     *
+     * @param fromIndex Index to start from
+     * @return Selected investment index, or -1 if there is none
+     */
+    public int nextSelected(int fromIndex) {
+        int word = fromIndex >>> 6;
+        if (word >= selection.length) {
+            return -1;
+        }
+        long bits = selection[word] & (-1L << fromIndex);
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == selection.length) {
+                return -1;
+            }
+            bits = selection[word];
+        }
+    }
+
+    // Getters
+    public InvestmentUniverse getUniverse() {
+        return universe;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getTotalRisk() {
+        return totalRisk;
+    }
+
+    public double getTotalReturn() {
+        return totalReturn;
+    }
+
+    /**
+     * @return Sum of the scaled risks of the selected investments
+     */
+    public long getTotalScaledRisk() {
+        return totalScaledRisk;
+    }
+
+    public double getSectorRisk(int sectorId) {
+        return sectorRisk[sectorId];
+    }
+
+    public double getRiskReturnRatio() {
+        return totalRisk > 0 ? totalReturn / totalRisk : 0;
+    }
+
+    /**
+     * Converts the selection to a Portfolio, with investments in index order. Portfolio is
+     * mutable, so every call builds a new one that the caller owns.
+     *
+     * @return Equivalent portfolio
+     */
+    public Portfolio toPortfolio() {
+        Portfolio portfolio = new Portfolio();
+        for (int i = nextSelected(0); i >= 0; i = nextSelected(i + 1)) {
+            portfolio.addInvestment(universe.getInvestment(i));
+        }
+        return portfolio;
+    }
+
+    @Override
+    public String toString() {
+        return toPortfolio().toString();
+    }
+}
@@ -0,0 +1,306 @@
+// CoreKnapsackSolver.java in com.portfolio.algorithm
+package com.portfolio.algorithm;
+
+import com.portfolio.model.CompactPortfolio;
+import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.InvestmentUniverse;
+import com.portfolio.model.Portfolio;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class CoreKnapsackSolver {
+
+    // Slack used when comparing floating point returns against bounds
+    private static final double EPSILON = 1e-9;
+
+    // Investments taken on each side of the break item by the first core
+    private static final int INITIAL_CORE_HALF_WIDTH = 16;
+
+    /**
+     * Solves the 0/1 Knapsack problem exactly on the same scaled risks as KnapsackSolver.solveWithDP,
+     * without a table over all investments. Investments are ranked by return/risk; the Dantzig
+     * solution takes every investment before the break item (the first one that no longer fits).
+     * Only a small core of investments around the break item is then solved exactly, by sparse
+     * dynamic programming pruned with the LP bound, while everything ranked above the core stays
+     * in and everything below stays out.
+     *
+     * The core result is proven optimal with reduced costs: flipping investment j away from its
+     * Dantzig assignment costs at least |return_j - lambda * risk_j| against the LP bound, where
+     * lambda is the break item's ratio. If no investment outside the core can close the gap
+     * between the LP bound and the best portfolio found, the core solution is optimal; otherwise
+     * the core is widened and solved again.
+     *
+     * @param investments List of available investment options
+     * @param riskTolerance Maximum risk tolerance (knapsack capacity)
+     * @return Optimized portfolio, investments in input order
+     */
+    public static Portfolio solve(List<InvestmentOption> investments, double riskTolerance) {
+        return solve(InvestmentUniverse.of(investments, KnapsackSolver.SCALE_FACTOR), riskTolerance);
+    }
+
+    /**
+     * Same as solve(List, double) over a struct-of-arrays universe, using its pre-scaled risks
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance (knapsack capacity)
+     * @return Optimized portfolio, investments in input order
+     */
+    public static Portfolio solve(InvestmentUniverse universe, double riskTolerance) {
+        int capacity = (int) (riskTolerance * universe.getScaleFactor());
+        CompactPortfolio selection = new CompactPortfolio(universe);
+        if (capacity < 0) {
+            return selection.toPortfolio();
+        }
+
+        // Risk-free gains are always taken; losses and investments that can never fit are never taken
+        int n = universe.size();
+        int[] candidates = new int[n];
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            int scaledRisk = universe.getScaledRisk(i);
+            if (universe.getExpectedReturn(i) <= 0 || scaledRisk > capacity) {
+                continue;
+            }
+            if (scaledRisk == 0) {
+                selection.add(i);
+            } else {
+                candidates[m++] = i;
+            }
+        }
+
+        Core core = new Core(universe, Arrays.copyOf(candidates, m), capacity);
+        core.solve();
+        for (int k = 0; k < m; k++) {
+            if (core.best[k]) {
+                selection.add(core.indices[k]);
+            }
+        }
+        return selection.toPortfolio();
+    }
+
+    /**
+     * Candidates in ratio order with their Dantzig bound, and the best selection found so far
+     */
+    private static final class Core {
+        private final int capacity;
+        private final int m;
+        private final int[] indices;      // position in ratio order -> investment index
+        private final int[] weights;
+        private final double[] profits;
+
+        private int breakItem;
+        private double lambda;            // ratio of the break item
+        private double[] reduced;         // profit - lambda * weight
+        private double upperBound;
+
+        private final boolean[] best;
+        private double bestValue;
+        private final boolean[] inCore;
+
+        Core(InvestmentUniverse universe, int[] candidates, int capacity) {
+            this.capacity = capacity;
+            this.m = candidates.length;
+
+            double[] ratios = new double[m];
+            for (int k = 0; k < m; k++) {
+                ratios[k] = universe.getExpectedReturn(candidates[k]) / universe.getScaledRisk(candidates[k]);
+            }
+            int[] order = GreedySolver.sortedOrder(ratios);
+
+            this.indices = new int[m];
+            this.weights = new int[m];
+            this.profits = new double[m];
+            for (int k = 0; k < m; k++) {
+                indices[k] = candidates[order[k]];
+                weights[k] = universe.getScaledRisk(indices[k]);
+                profits[k] = universe.getExpectedReturn(indices[k]);
+            }
+
+            this.best = new boolean[m];
+            this.inCore = new boolean[m];
+        }
+
+        void solve() {
+            long weight = 0;
+            breakItem = 0;
+            while (breakItem < m && weight + weights[breakItem] <= capacity) {
+                weight += weights[breakItem];
+                best[breakItem] = true;
+                bestValue += profits[breakItem];
+                breakItem++;
+            }
+            if (breakItem == m) {
+                return; // everything fits
+            }
+
+            lambda = profits[breakItem] / weights[breakItem];
+            reduced = new double[m];
+            upperBound = lambda * capacity;
+            for (int k = 0; k < m; k++) {
+                reduced[k] = profits[k] - lambda * weights[k];
+                upperBound += Math.max(0, reduced[k]);
+            }
+
+            // Greedy completion of the Dantzig solution is the first incumbent
+            long remaining = capacity - weight;
+            for (int k = breakItem + 1; k < m; k++) {
+                if (weights[k] <= remaining) {
+                    best[k] = true;
+                    bestValue += profits[k];
+                    remaining -= weights[k];
+                }
+            }
+
+            int halfWidth = INITIAL_CORE_HALF_WIDTH;
+            while (upperBound - bestValue > EPSILON) {
+                int from = Math.max(0, breakItem - halfWidth);
+                int to = (int) Math.min(m, (long) breakItem + halfWidth);
+                int[] positions = new int[m];
+                int size = 0;
+                for (int k = from; k < to; k++) {
+                    positions[size++] = k;
+                }
+                solveCore(positions, size);
+
+                // Investments outside the core whose flip could still beat the incumbent
+                double gap = upperBound - bestValue - EPSILON;
+                int windowSize = size;
+                for (int k = 0; k < m; k++) {
+                    if ((k < from || k >= to) && Math.abs(reduced[k]) < gap) {
+                        positions[size++] = k;
+                    }
+                }
+                if (size == windowSize) {
+                    return;
+                }
+                if (size - windowSize <= windowSize) {
+                    Arrays.sort(positions, 0, size);
+                    solveCore(positions, size);
+                    return;
+                }
+                halfWidth *= 4;
+            }
+        }
+
+        /**
+         * Solves the core exactly with every investment ranked above it taken and every one below
+         * it left out, replacing the incumbent if the result is better. States are non-dominated
+         * (weight, return) pairs as in ParetoFrontierSolver, and a state is dropped once its
+         * Lagrangian bound cannot beat the incumbent.
+         *
+         * @param positions Core positions in ratio order
+         * @param size Number of positions used
+         */
+        private void solveCore(int[] positions, int size) {
+            for (int c = 0; c < size; c++) {
+                inCore[positions[c]] = true;
+            }
+            long fixedWeight = 0;
+            double fixedProfit = 0;
+            for (int k = 0; k < breakItem; k++) {
+                if (!inCore[k]) {
+                    fixedWeight += weights[k];
+                    fixedProfit += profits[k];
+                }
+            }
+            for (int c = 0; c < size; c++) {
+                inCore[positions[c]] = false;
+            }
+
+            int coreCapacity = (int) (capacity - fixedWeight);
+            double target = bestValue - fixedProfit + EPSILON;
+
+            // Most any remaining core investments can add on top of lambda per unit of capacity
+            double[] positiveReducedFrom = new double[size + 1];
+            for (int c = size - 1; c >= 0; c--) {
+                positiveReducedFrom[c] = positiveReducedFrom[c + 1] + Math.max(0, reduced[positions[c]]);
+            }
+
+            int[] stateWeights = new int[16];
+            double[] stateValues = new double[16];
+            int states = 1;
+            int[] nextWeights = new int[16];
+            double[] nextValues = new double[16];
+            int[] nextLinks = new int[16];
+            int[][] links = new int[size][];
+
+            for (int c = 0; c < size && states > 0; c++) {
+                int itemWeight = weights[positions[c]];
+                double itemProfit = profits[positions[c]];
+                double rest = positiveReducedFrom[c + 1];
+
+                if (nextWeights.length < states * 2) {
+                    nextWeights = new int[states * 2];
+                    nextValues = new double[states * 2];
+                    nextLinks = new int[states * 2];
+                }
+
+                int shifted = 0;
+                while (shifted < states && stateWeights[shifted] + itemWeight <= coreCapacity) {
+                    shifted++;
+                }
+
+                int count = 0;
+                int a = 0;
+                int b = 0;
+                while (a < states || b < shifted) {
+                    int weight;
+                    double value;
+                    int link;
+                    if (b >= shifted || (a < states && stateWeights[a] <= stateWeights[b] + itemWeight)) {
+                        weight = stateWeights[a];
+                        value = stateValues[a];
+                        link = a << 1;
+                        a++;
+                    } else {
+                        weight = stateWeights[b] + itemWeight;
+                        value = stateValues[b] + itemProfit;
+                        link = (b << 1) | 1;
+                        b++;
+                    }
+
+                    if (count > 0 && value <= nextValues[count - 1]) {
+                        continue;
+                    }
+                    if (value + lambda * (coreCapacity - weight) + rest <= target) {
+                        continue;
+                    }
+                    if (count > 0 && weight == nextWeights[count - 1]) {
+                        count--;
+                    }
+                    nextWeights[count] = weight;
+                    nextValues[count] = value;
+                    nextLinks[count] = link;
+                    count++;
+                }
+
+                links[c] = Arrays.copyOf(nextLinks, count);
+
+                int[] swapWeights = stateWeights;
+                double[] swapValues = stateValues;
+                stateWeights = nextWeights;
+                stateValues = nextValues;
+                nextWeights = swapWeights;
+                nextValues = swapValues;
+                states = count;
+            }
+
+            if (states == 0 || stateValues[states - 1] <= target) {
+                return;
+            }
+
+            // New incumbent: the fixed investments plus the best core state
+            for (int k = 0; k < m; k++) {
+                best[k] = k < breakItem;
+            }
+            int state = states - 1;
+            for (int c = size - 1; c >= 0; c--) {
+                int link = links[c][state];
+                best[positions[c]] = (link & 1) != 0;
+                state = link >>> 1;
+            }
+            bestValue = fixedProfit + stateValues[states - 1];
+        }
+    }
+}
@@ -0,0 +1,72 @@
+// CsvLoadReport.java in com.portfolio.util
+package com.portfolio.util;
+
+import com.portfolio.model.InvestmentUniverse;
+
+public class CsvLoadReport {
+    private final InvestmentUniverse universe;
+    private final long bytesRead;
+    private final int malformedCount;
+    private final long[] malformedLineNumbers;
+    private final long elapsedNanos;
+
+    CsvLoadReport(InvestmentUniverse universe, long bytesRead, int malformedCount,
+                  long[] malformedLineNumbers, long elapsedNanos) {
+        this.universe = universe;
+        this.bytesRead = bytesRead;
+        this.malformedCount = malformedCount;
+        this.malformedLineNumbers = malformedLineNumbers;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // Getters
+    public InvestmentUniverse getUniverse() {
+        return universe;
+    }
+
+    public int getRowCount() {
+        return universe.size();
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public int getMalformedCount() {
+        return malformedCount;
+    }
+
+    /**
+     * @return 1-based file line numbers of the first malformed lines, in file order
+     */
+    public long[] getMalformedLineNumbers() {
+        return malformedLineNumbers.clone();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos > 0 ? getRowCount() * 1e9 / elapsedNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Loaded %d rows (%.1f MB) in %.1f ms, %.0f rows/sec",
+                getRowCount(), bytesRead / (1024.0 * 1024.0), elapsedNanos / 1e6, getRowsPerSecond()));
+        if (malformedCount > 0) {
+            sb.append(String.format("; %d malformed lines", malformedCount));
+            sb.append(" (first at lines ");
+            for (int i = 0; i < malformedLineNumbers.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(malformedLineNumbers[i]);
+            }
+            sb.append(")");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,118 @@
+// EfficientFrontier.java in com.portfolio.algorithm
+package com.portfolio.algorithm;
+
+import com.portfolio.model.InvestmentUniverse;
+import com.portfolio.model.Portfolio;
+
+public class EfficientFrontier {
+    private final InvestmentUniverse universe;
+    private final int[] scaledRisks;
+    private final int scaleFactor;
+    private final double[] bestReturns;   // final DP row: best return for each scaled capacity
+    private final long[][] decisions;
+
+    /**
+     * Created by KnapsackSolver.buildEfficientFrontier from a completed DP pass
+     */
+    EfficientFrontier(InvestmentUniverse universe, int[] scaledRisks, double[] bestReturns, long[][] decisions) {
+        this.universe = universe;
+        this.scaledRisks = scaledRisks;
+        this.scaleFactor = universe.getScaleFactor();
+        this.bestReturns = bestReturns;
+        this.decisions = decisions;
+    }
+
+    /**
+     * @return Largest risk tolerance this frontier can answer for
+     */
+    public double getMaxRiskTolerance() {
+        return (double) (bestReturns.length - 1) / scaleFactor;
+    }
+
+    /**
+     * Whether the frontier answers for a risk tolerance. Tolerances are compared on the scaled
+     * grid, so the tolerance the frontier was built for is always covered even when its scaled
+     * capacity was truncated below it.
+     *
+     * @param riskTolerance Risk tolerance
+     * @return true if bestReturn and portfolioAt accept it
+     */
+    public boolean covers(double riskTolerance) {
+        int capacity = (int) (riskTolerance * scaleFactor);
+        return capacity >= 0 && capacity < bestReturns.length;
+    }
+
+    /**
+     * Best achievable return at the given risk tolerance, in O(1)
+     *
+     * @param riskTolerance Risk tolerance, at most getMaxRiskTolerance()
+     * @return Best total return
+     */
+    public double bestReturn(double riskTolerance) {
+        return bestReturns[toCapacity(riskTolerance)];
+    }
+
+    /**
+     * Optimal portfolio at the given risk tolerance, reconstructed from the retained decisions
+     *
+     * @param riskTolerance Risk tolerance, at most getMaxRiskTolerance()
+     * @return The portfolio solveWithDP would return for this tolerance
+     */
+    public Portfolio portfolioAt(double riskTolerance) {
+        return KnapsackSolver.reconstruct(universe, scaledRisks, decisions, toCapacity(riskTolerance));
+    }
+
+    /**
+     * Risk levels at which the best return steps up, in ascending order, for plotting
+     *
+     * @return Risk of each frontier point
+     */
+    public double[] getFrontierRisks() {
+        double[] risks = new double[countFrontierPoints()];
+        int k = 0;
+        for (int w = 0; w < bestReturns.length; w++) {
+            if (isFrontierPoint(w)) {
+                risks[k++] = (double) w / scaleFactor;
+            }
+        }
+        return risks;
+    }
+
+    /**
+     * Best return at each point of getFrontierRisks()
+     *
+     * @return Return of each frontier point
+     */
+    public double[] getFrontierReturns() {
+        double[] returns = new double[countFrontierPoints()];
+        int k = 0;
+        for (int w = 0; w < bestReturns.length; w++) {
+            if (isFrontierPoint(w)) {
+                returns[k++] = bestReturns[w];
+            }
+        }
+        return returns;
+    }
+
+    private int countFrontierPoints() {
+        int count = 0;
+        for (int w = 0; w < bestReturns.length; w++) {
+            if (isFrontierPoint(w)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean isFrontierPoint(int w) {
+        return w == 0 || bestReturns[w] > bestReturns[w - 1];
+    }
+
+    private int toCapacity(double riskTolerance) {
+        if (!covers(riskTolerance)) {
+            throw new IllegalArgumentException("Risk tolerance " + riskTolerance
+                    + " is outside the frontier range [0, " + getMaxRiskTolerance() + "]");
+        }
+        return (int) (riskTolerance * scaleFactor);
+    }
+}
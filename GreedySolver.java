@@ -1,15 +1,18 @@
 // GreedySolver.java in com.portfolio.algorithm
 package com.portfolio.algorithm;
 
+import com.portfolio.model.CompactPortfolio;
 import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.InvestmentUniverse;
 import com.portfolio.model.Portfolio;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 public class GreedySolver{
 
+    // Ranges at most this long are finished by insertion sort
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+
     /**
      * Solves the portfolio optimization using a greedy approach - highest return first
      *
@@ -18,49 +21,375 @@ public class GreedySolver{
      * @return Greedy portfolio solution
      */
     public static Portfolio solveHighestReturnFirst(List<InvestmentOption> investments, double riskTolerance) {
-        Portfolio portfolio = new Portfolio();
+        return solveHighestReturnFirst(InvestmentUniverse.of(investments), riskTolerance);
+    }
 
-        // Create a copy and sort by expected return (descending)
-        List<InvestmentOption> sortedInvestments = new ArrayList<>(investments);
-        sortedInvestments.sort(Comparator.comparing(InvestmentOption::getExpectedReturn).reversed());
+    /**
+     * Solves the portfolio optimization using a greedy approach - best return/risk ratio first.
+     * Zero-risk investments rank first when their return is positive and last when it is negative.
+     *
+     * @param investments List of available investment options
+     * @param riskTolerance Maximum risk tolerance
+     * @return Greedy portfolio solution
+     */
+    public static Portfolio solveBestRatioFirst(List<InvestmentOption> investments, double riskTolerance) {
+        return solveBestRatioFirst(InvestmentUniverse.of(investments), riskTolerance);
+    }
 
-        double remainingRiskCapacity = riskTolerance;
+    /**
+     * Same as solveHighestReturnFirst(List, double) over a struct-of-arrays universe
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance
+     * @return Greedy portfolio solution
+     */
+    public static Portfolio solveHighestReturnFirst(InvestmentUniverse universe, double riskTolerance) {
+        boolean observed = SolverEvents.isObserved();
+        long start = SolverEvents.now(observed);
+        Portfolio portfolio = takeInOrder(universe, sortedOrder(returns(universe)), riskTolerance);
+        if (observed) {
+            publish("GreedySolver.solveHighestReturnFirst", universe, start);
+        }
+        return portfolio;
+    }
 
-        for (InvestmentOption investment : sortedInvestments) {
-            if (investment.getRiskFactor() <= remainingRiskCapacity) {
-                portfolio.addInvestment(investment);
-                remainingRiskCapacity -= investment.getRiskFactor();
-            }
+    /**
+     * Same as solveBestRatioFirst(List, double) over a struct-of-arrays universe
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance
+     * @return Greedy portfolio solution
+     */
+    public static Portfolio solveBestRatioFirst(InvestmentUniverse universe, double riskTolerance) {
+        boolean observed = SolverEvents.isObserved();
+        long start = SolverEvents.now(observed);
+        Portfolio portfolio = takeInOrder(universe, bestRatioOrder(universe), riskTolerance);
+        if (observed) {
+            publish("GreedySolver.solveBestRatioFirst", universe, start);
         }
+        return portfolio;
+    }
 
+    /**
+     * Selects the same investments as solveHighestReturnFirst in expected O(n) time, without
+     * sorting; see solveBestRatioFirstBySelection
+     *
+     * @param investments List of available investment options
+     * @param riskTolerance Maximum risk tolerance
+     * @return Greedy portfolio solution, investments in input order
+     */
+    public static Portfolio solveHighestReturnFirstBySelection(List<InvestmentOption> investments,
+                                                               double riskTolerance) {
+        return solveHighestReturnFirstBySelection(InvestmentUniverse.of(investments), riskTolerance);
+    }
+
+    /**
+     * Same as solveHighestReturnFirstBySelection(List, double) over a struct-of-arrays universe
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance
+     * @return Greedy portfolio solution, investments in input order
+     */
+    public static Portfolio solveHighestReturnFirstBySelection(InvestmentUniverse universe, double riskTolerance) {
+        boolean observed = SolverEvents.isObserved();
+        long start = SolverEvents.now(observed);
+        Portfolio portfolio = selectInOrder(universe, returns(universe), riskTolerance);
+        if (observed) {
+            publish("GreedySolver.solveHighestReturnFirstBySelection", universe, start);
+        }
         return portfolio;
     }
 
     /**
-     * Solves the portfolio optimization using a greedy approach - best return/risk ratio first
+     * Selects the same investments as solveBestRatioFirst in expected O(n) time, without sorting.
+     * A weighted quickselect finds the critical item - the first one, in ratio order, that no
+     * longer fits - and takes everything ranked above it. Only the investments ranked below it
+     * that still fit the leftover capacity are searched again, so each round works on a smaller
+     * set, and the search ends as soon as nothing left fits.
      *
      * @param investments List of available investment options
      * @param riskTolerance Maximum risk tolerance
-     * @return Greedy portfolio solution
+     * @return Greedy portfolio solution, investments in input order
      */
-    public static Portfolio solveBestRatioFirst(List<InvestmentOption> investments, double riskTolerance) {
-        Portfolio portfolio = new Portfolio();
+    public static Portfolio solveBestRatioFirstBySelection(List<InvestmentOption> investments, double riskTolerance) {
+        return solveBestRatioFirstBySelection(InvestmentUniverse.of(investments), riskTolerance);
+    }
+
+    /**
+     * Same as solveBestRatioFirstBySelection(List, double) over a struct-of-arrays universe
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance
+     * @return Greedy portfolio solution, investments in input order
+     */
+    public static Portfolio solveBestRatioFirstBySelection(InvestmentUniverse universe, double riskTolerance) {
+        boolean observed = SolverEvents.isObserved();
+        long start = SolverEvents.now(observed);
+        Portfolio portfolio = selectInOrder(universe, ratios(universe), riskTolerance);
+        if (observed) {
+            publish("GreedySolver.solveBestRatioFirstBySelection", universe, start);
+        }
+        return portfolio;
+    }
+
+    /**
+     * Indices in the order solveBestRatioFirst considers them: return/risk descending, ties in
+     * index order
+     *
+     * @param universe Available investments
+     * @return Investment indices sorted by ratio
+     */
+    static int[] bestRatioOrder(InvestmentUniverse universe) {
+        return sortedOrder(ratios(universe));
+    }
+
+    private static double[] returns(InvestmentUniverse universe) {
+        double[] returns = new double[universe.size()];
+        for (int i = 0; i < returns.length; i++) {
+            returns[i] = universe.getExpectedReturn(i);
+        }
+        return returns;
+    }
+
+    private static double[] ratios(InvestmentUniverse universe) {
+        double[] ratios = new double[universe.size()];
+        for (int i = 0; i < ratios.length; i++) {
+            ratios[i] = ratio(universe.getExpectedReturn(i), universe.getRiskFactor(i));
+        }
+        return ratios;
+    }
+
+    /**
+     * Return/risk ratio that stays ordered for zero risk instead of turning into NaN
+     */
+    private static double ratio(double expectedReturn, double riskFactor) {
+        if (riskFactor == 0) {
+            return expectedReturn > 0 ? Double.POSITIVE_INFINITY
+                    : expectedReturn < 0 ? Double.NEGATIVE_INFINITY : 0;
+        }
+        return expectedReturn / riskFactor;
+    }
 
-        // Create a copy and sort by return/risk ratio (descending)
-        List<InvestmentOption> sortedInvestments = new ArrayList<>(investments);
-        sortedInvestments.sort(Comparator.comparing(
-                (InvestmentOption inv) -> inv.getExpectedReturn() / inv.getRiskFactor()
-        ).reversed());
+    /**
+     * Indices sorted by key descending, ties in index order
+     *
+     * @param keys Sort key of each index; reordered along with the result
+     */
+    static int[] sortedOrder(double[] keys) {
+        int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        sort(keys, order, null, 0, keys.length - 1, 2 * (32 - Integer.numberOfLeadingZeros(keys.length)));
+        return order;
+    }
+
+    private static void publish(String solver, InvestmentUniverse universe, long start) {
+        SolverEvents.publish(new SolverStats(solver, universe.size(), 0, 0, 0, 0, System.nanoTime() - start, 0));
+    }
 
+    /**
+     * Takes investments in the given order while they still fit the remaining risk capacity,
+     * stopping once the capacity is below the smallest risk still to come
+     */
+    private static Portfolio takeInOrder(InvestmentUniverse universe, int[] order, double riskTolerance) {
+        Portfolio portfolio = new Portfolio();
         double remainingRiskCapacity = riskTolerance;
 
-        for (InvestmentOption investment : sortedInvestments) {
-            if (investment.getRiskFactor() <= remainingRiskCapacity) {
-                portfolio.addInvestment(investment);
-                remainingRiskCapacity -= investment.getRiskFactor();
+        double[] smallestRiskFrom = new double[order.length + 1];
+        smallestRiskFrom[order.length] = Double.POSITIVE_INFINITY;
+        for (int k = order.length - 1; k >= 0; k--) {
+            smallestRiskFrom[k] = Math.min(smallestRiskFrom[k + 1], universe.getRiskFactor(order[k]));
+        }
+
+        for (int k = 0; k < order.length && smallestRiskFrom[k] <= remainingRiskCapacity; k++) {
+            int i = order[k];
+            double riskFactor = universe.getRiskFactor(i);
+            if (riskFactor <= remainingRiskCapacity) {
+                portfolio.addInvestment(universe.getInvestment(i));
+                remainingRiskCapacity -= riskFactor;
             }
         }
 
         return portfolio;
     }
+
+    /**
+     * Greedy selection by repeated weighted quickselect. Keys, indices and risks live in parallel
+     * arrays that are partitioned together, so every pass reads memory sequentially.
+     */
+    private static Portfolio selectInOrder(InvestmentUniverse universe, double[] keys, double riskTolerance) {
+        int n = keys.length;
+        int[] order = new int[n];
+        double[] risks = new double[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+            risks[i] = universe.getRiskFactor(i);
+        }
+
+        CompactPortfolio selection = new CompactPortfolio(universe);
+        double remainingRiskCapacity = riskTolerance;
+        int start = 0;
+        int end = n;
+
+        while (start < end) {
+            // Narrow [lo, hi] down to the critical item, taking every range that fits whole
+            int lo = start;
+            int hi = end - 1;
+            int critical = -1;
+            while (lo <= hi) {
+                int p = partition(keys, order, risks, lo, hi);
+                double aboveRisk = 0;
+                for (int k = lo; k < p; k++) {
+                    aboveRisk += risks[k];
+                }
+                if (aboveRisk > remainingRiskCapacity) {
+                    hi = p - 1;
+                    continue;
+                }
+                for (int k = lo; k < p; k++) {
+                    selection.add(order[k]);
+                }
+                remainingRiskCapacity -= aboveRisk;
+                if (risks[p] > remainingRiskCapacity) {
+                    critical = p;
+                    break;
+                }
+                selection.add(order[p]);
+                remainingRiskCapacity -= risks[p];
+                lo = p + 1;
+            }
+            if (critical < 0) {
+                break;
+            }
+
+            // Everything ranked below the critical item that still fits becomes the next round
+            int kept = critical + 1;
+            for (int k = critical + 1; k < end; k++) {
+                if (risks[k] <= remainingRiskCapacity) {
+                    keys[kept] = keys[k];
+                    order[kept] = order[k];
+                    risks[kept] = risks[k];
+                    kept++;
+                }
+            }
+            start = critical + 1;
+            end = kept;
+        }
+
+        return selection.toPortfolio();
+    }
+
+    /**
+     * Introsort of [lo, hi] by key descending, ties in index order, falling back to heapsort
+     * once depth runs out. Risks, when not null, are moved along with the keys.
+     */
+    private static void sort(double[] keys, int[] order, double[] risks, int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(keys, order, risks, lo, hi);
+                return;
+            }
+            int p = partition(keys, order, risks, lo, hi);
+            if (p - lo < hi - p) {
+                sort(keys, order, risks, lo, p - 1, depth);
+                lo = p + 1;
+            } else {
+                sort(keys, order, risks, p + 1, hi, depth);
+                hi = p - 1;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            for (int j = i; j > lo && before(keys, order, j, j - 1); j--) {
+                swap(keys, order, risks, j, j - 1);
+            }
+        }
+    }
+
+    /**
+     * Partitions [lo, hi] around the median of its first, middle and last entries
+     *
+     * @return Final position of the pivot; entries before it rank above it
+     */
+    private static int partition(double[] keys, int[] order, double[] risks, int lo, int hi) {
+        if (hi - lo < 2) {
+            if (hi > lo && before(keys, order, hi, lo)) {
+                swap(keys, order, risks, lo, hi);
+            }
+            return lo;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (before(keys, order, mid, lo)) {
+            swap(keys, order, risks, mid, lo);
+        }
+        if (before(keys, order, hi, lo)) {
+            swap(keys, order, risks, hi, lo);
+        }
+        if (before(keys, order, mid, hi)) {
+            swap(keys, order, risks, mid, hi);
+        }
+
+        // The pivot now sits at hi and lo ranks above it, so both scans stop without bounds checks
+        int i = lo - 1;
+        int j = hi;
+        while (true) {
+            while (before(keys, order, ++i, hi)) {
+            }
+            while (before(keys, order, hi, --j)) {
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(keys, order, risks, i, j);
+        }
+        swap(keys, order, risks, i, hi);
+        return i;
+    }
+
+    private static void heapSort(double[] keys, int[] order, double[] risks, int lo, int hi) {
+        int size = hi - lo + 1;
+        for (int root = size / 2 - 1; root >= 0; root--) {
+            siftDown(keys, order, risks, lo, root, size);
+        }
+        for (int last = size - 1; last > 0; last--) {
+            swap(keys, order, risks, lo, lo + last);
+            siftDown(keys, order, risks, lo, 0, last);
+        }
+    }
+
+    /**
+     * Restores a heap whose root is the entry that ranks last
+     */
+    private static void siftDown(double[] keys, int[] order, double[] risks, int base, int root, int size) {
+        while (2 * root + 1 < size) {
+            int child = 2 * root + 1;
+            if (child + 1 < size && before(keys, order, base + child, base + child + 1)) {
+                child++;
+            }
+            if (!before(keys, order, base + root, base + child)) {
+                return;
+            }
+            swap(keys, order, risks, base + root, base + child);
+            root = child;
+        }
+    }
+
+    private static boolean before(double[] keys, int[] order, int a, int b) {
+        int cmp = Double.compare(keys[a], keys[b]);
+        return cmp > 0 || cmp == 0 && order[a] < order[b];
+    }
+
+    private static void swap(double[] keys, int[] order, double[] risks, int a, int b) {
+        double key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        int index = order[a];
+        order[a] = order[b];
+        order[b] = index;
+        if (risks != null) {
+            double risk = risks[a];
+            risks[a] = risks[b];
+            risks[b] = risk;
+        }
+    }
 }
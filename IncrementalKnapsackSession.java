@@ -0,0 +1,244 @@
+// IncrementalKnapsackSession.java in com.portfolio.algorithm
+package com.portfolio.algorithm;
+
+import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.Portfolio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class IncrementalKnapsackSession {
+    private final double riskTolerance;
+    private final int scaledRiskTolerance;
+    private final List<InvestmentOption> investments;
+
+    // The universe is split across two stacks of DP rows, like a two-stack queue: left holds the
+    // older investments with the oldest on top, right the newer ones with the newest on top.
+    // Their top rows are combined on demand.
+    private final RowStack left;
+    private final RowStack right;
+
+    /**
+     * Starts a session that keeps its DP state between edits of the investment universe.
+     * Risks are scaled the same way as in KnapsackSolver.solveWithDP. The session keeps one DP
+     * row of W + 1 doubles per investment, the same memory as the full solveWithDP table.
+     *
+     * @param investments Initial investment options
+     * @param riskTolerance Maximum risk tolerance (knapsack capacity)
+     */
+    public IncrementalKnapsackSession(List<InvestmentOption> investments, double riskTolerance) {
+        this.riskTolerance = riskTolerance;
+        this.scaledRiskTolerance = (int) (riskTolerance * KnapsackSolver.SCALE_FACTOR);
+        this.investments = new ArrayList<>(investments);
+        this.left = new RowStack(scaledRiskTolerance);
+        this.right = new RowStack(scaledRiskTolerance);
+        split();
+    }
+
+    /**
+     * Adds an investment with a single O(W) row update
+     *
+     * @param investment Investment to add
+     */
+    public void addInvestment(InvestmentOption investment) {
+        investments.add(investment);
+        right.push(investment);
+    }
+
+    /**
+     * Adds a batch of investments, one row update each
+     *
+     * @param newInvestments Investments to add
+     */
+    public void addInvestments(List<InvestmentOption> newInvestments) {
+        for (InvestmentOption investment : newInvestments) {
+            addInvestment(investment);
+        }
+    }
+
+    /**
+     * Removes an investment (matched by identity). Rows below it on its stack are kept and the
+     * investments stacked above it - those closer to the oldest or newest end of the universe -
+     * are pushed back, one O(W) row update each. Removing the oldest or the newest investment
+     * therefore costs amortized O(W): when one stack runs empty, the universe is split in half
+     * again across both stacks, which pays for itself over the next n / 2 such removals. The
+     * worst case is an investment in the middle of the universe, which re-pushes up to n / 2
+     * rows, about half of a fresh solveWithDP.
+     *
+     * @param investment Investment to remove
+     * @return true if the investment was part of the session
+     */
+    public boolean removeInvestment(InvestmentOption investment) {
+        int index = indexOf(investments, investment);
+        if (index < 0) {
+            return false;
+        }
+        if ((left.size() == 0 || right.size() == 0) && investments.size() > 1) {
+            split();
+        }
+        investments.remove(index);
+
+        if (!left.remove(investment)) {
+            right.remove(investment);
+        }
+        return true;
+    }
+
+    /**
+     * @return Current investment universe, in insertion order
+     */
+    public List<InvestmentOption> getInvestments() {
+        return new ArrayList<>(investments);
+    }
+
+    public double getRiskTolerance() {
+        return riskTolerance;
+    }
+
+    /**
+     * Best return for the current universe, combining both stacks in O(W)
+     *
+     * @return Optimal total return
+     */
+    public double getBestReturn() {
+        int split = bestSplit();
+        return left.top()[split] + right.top()[scaledRiskTolerance - split];
+    }
+
+    /**
+     * Optimal portfolio for the current universe
+     *
+     * @return Optimized portfolio with the same total return as solveWithDP
+     */
+    public Portfolio getPortfolio() {
+        int split = bestSplit();
+        Portfolio portfolio = new Portfolio();
+        left.reconstruct(split, portfolio);
+        right.reconstruct(scaledRiskTolerance - split, portfolio);
+        return portfolio;
+    }
+
+    /**
+     * Capacity share of the left stack that maximises the combined return
+     */
+    private int bestSplit() {
+        double[] leftRow = left.top();
+        double[] rightRow = right.top();
+        int split = 0;
+        double best = Double.NEGATIVE_INFINITY;
+        for (int c = 0; c <= scaledRiskTolerance; c++) {
+            double combined = leftRow[c] + rightRow[scaledRiskTolerance - c];
+            if (combined > best) {
+                best = combined;
+                split = c;
+            }
+        }
+        return split;
+    }
+
+    /**
+     * Rebuilds both stacks with the older half of the universe on the left and the newer on the right
+     */
+    private void split() {
+        left.clear();
+        right.clear();
+        int half = investments.size() / 2;
+        for (int i = half - 1; i >= 0; i--) {
+            left.push(investments.get(i));
+        }
+        for (int i = half; i < investments.size(); i++) {
+            right.push(investments.get(i));
+        }
+    }
+
+    private static int indexOf(List<InvestmentOption> list, InvestmentOption investment) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == investment) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Stack of investments where row k is the DP row over investments 0..k of the stack
+     */
+    private static final class RowStack {
+        private final double[] emptyRow;
+        private final List<InvestmentOption> items = new ArrayList<>();
+        private final List<double[]> rows = new ArrayList<>();
+        private int[] scaledRisks = new int[16];
+
+        RowStack(int scaledRiskTolerance) {
+            this.emptyRow = new double[scaledRiskTolerance + 1];
+        }
+
+        double[] top() {
+            return rows.isEmpty() ? emptyRow : rows.get(rows.size() - 1);
+        }
+
+        int size() {
+            return items.size();
+        }
+
+        void clear() {
+            items.clear();
+            rows.clear();
+        }
+
+        void push(InvestmentOption investment) {
+            int k = items.size();
+            if (k == scaledRisks.length) {
+                scaledRisks = Arrays.copyOf(scaledRisks, k * 2);
+            }
+            int scaledRisk = (int) (investment.getRiskFactor() * KnapsackSolver.SCALE_FACTOR);
+            double expectedReturn = investment.getExpectedReturn();
+
+            double[] row = top().clone();
+            for (int w = row.length - 1; w >= scaledRisk; w--) {
+                double candidate = expectedReturn + row[w - scaledRisk];
+                if (candidate > row[w]) {
+                    row[w] = candidate;
+                }
+            }
+
+            items.add(investment);
+            rows.add(row);
+            scaledRisks[k] = scaledRisk;
+        }
+
+        /**
+         * Removes the investment if it is on this stack, pushing the investments above it back
+         */
+        boolean remove(InvestmentOption investment) {
+            int index = indexOf(items, investment);
+            if (index < 0) {
+                return false;
+            }
+
+            List<InvestmentOption> above = new ArrayList<>(items.subList(index + 1, items.size()));
+            items.subList(index, items.size()).clear();
+            rows.subList(index, rows.size()).clear();
+
+            for (InvestmentOption moved : above) {
+                push(moved);
+            }
+            return true;
+        }
+
+        /**
+         * Adds the optimal selection of this stack within the given capacity to the portfolio
+         */
+        void reconstruct(int capacity, Portfolio portfolio) {
+            int w = capacity;
+            for (int k = items.size() - 1; k >= 0; k--) {
+                double[] previous = k > 0 ? rows.get(k - 1) : emptyRow;
+                if (rows.get(k)[w] != previous[w]) {
+                    portfolio.addInvestment(items.get(k));
+                    w -= scaledRisks[k];
+                }
+            }
+        }
+    }
+}
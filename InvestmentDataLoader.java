@@ -2,6 +2,7 @@
 package com.portfolio.util;
 
 import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.InvestmentUniverse;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
@@ -72,4 +73,34 @@ public class InvestmentDataLoader {
             System.err.println("Error writing investment data: " + e.getMessage());
         }
     }
+
+    /**
+     * Loads investment options from a binary snapshot written by saveSnapshot
+     *
+     * @param filePath Path to the snapshot file
+     * @return List of investment options, with values exactly as saved
+     */
+    public static List<InvestmentOption> loadSnapshot(String filePath) {
+        try {
+            return UniverseSnapshot.open(filePath).toUniverse().toList();
+        } catch (IOException e) {
+            System.err.println("Error reading investment data: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Saves a list of investments as a binary columnar snapshot. Unlike saveToCSV, values are
+     * stored without rounding.
+     *
+     * @param investments List of investment options
+     * @param filePath Path to the output file
+     */
+    public static void saveSnapshot(List<InvestmentOption> investments, String filePath) {
+        try {
+            UniverseSnapshot.write(InvestmentUniverse.of(investments), filePath);
+        } catch (IOException e) {
+            System.err.println("Error writing investment data: " + e.getMessage());
+        }
+    }
 }
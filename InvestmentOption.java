@@ -6,6 +6,7 @@ public class InvestmentOption {
     private double expectedReturn; // value
     private double riskFactor;     // weight
     private String sector;         // for diversification extension
+    private double[] riskFactors;  // weights per risk dimension, riskFactors[0] == riskFactor; null for one dimension
 
     // Constructor
     public InvestmentOption(String name, double expectedReturn, double riskFactor, String sector) {
@@ -15,6 +16,27 @@ public class InvestmentOption {
         this.sector = sector;
     }
 
+    /**
+     * Creates an investment with several risk dimensions, e.g. volatility, liquidity risk and
+     * credit exposure. The first dimension is the primary risk factor used by the single-risk
+     * solvers.
+     *
+     * @param name Investment name
+     * @param expectedReturn Expected return
+     * @param riskFactors Risk in each dimension; at least one
+     * @param sector Sector name
+     */
+    public InvestmentOption(String name, double expectedReturn, double[] riskFactors, String sector) {
+        if (riskFactors.length == 0) {
+            throw new IllegalArgumentException("At least one risk dimension is required");
+        }
+        this.name = name;
+        this.expectedReturn = expectedReturn;
+        this.riskFactor = riskFactors[0];
+        this.sector = sector;
+        this.riskFactors = riskFactors.clone();
+    }
+
     // Getters and setters
     public String getName() {
         return name;
@@ -32,6 +54,21 @@ public class InvestmentOption {
         return sector;
     }
 
+    public int getRiskDimensions() {
+        return riskFactors == null ? 1 : riskFactors.length;
+    }
+
+    /**
+     * @param dimension Risk dimension index
+     * @return Risk in that dimension, or 0 for dimensions this investment does not define
+     */
+    public double getRiskFactor(int dimension) {
+        if (riskFactors == null) {
+            return dimension == 0 ? riskFactor : 0;
+        }
+        return dimension < riskFactors.length ? riskFactors[dimension] : 0;
+    }
+
     @Override
     public String toString() {
         return "InvestmentOption{" +
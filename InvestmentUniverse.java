@@ -0,0 +1,218 @@
+// InvestmentUniverse.java in com.portfolio.model
+package com.portfolio.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class InvestmentUniverse {
+
+    // Same scaling as KnapsackSolver: risk * 100, truncated to int
+    public static final int DEFAULT_SCALE_FACTOR = 100;
+
+    private final String[] names;
+    private final double[] expectedReturns;
+    private final double[] riskFactors;   // primary risk dimension; further ones stay on the options
+    private final int[] scaledRisks;
+    private final int[] sectorIds;
+    private final String[] sectorNames;
+    private final int scaleFactor;
+    private final InvestmentOption[] options;   // original objects, or null when built from columns
+
+    private InvestmentUniverse(String[] names, double[] expectedReturns, double[] riskFactors, int[] sectorIds,
+                               String[] sectorNames, int scaleFactor, InvestmentOption[] options) {
+        this(names, expectedReturns, riskFactors, scale(riskFactors, scaleFactor), sectorIds, sectorNames,
+                scaleFactor, options);
+    }
+
+    private InvestmentUniverse(String[] names, double[] expectedReturns, double[] riskFactors, int[] scaledRisks,
+                               int[] sectorIds, String[] sectorNames, int scaleFactor, InvestmentOption[] options) {
+        this.names = names;
+        this.expectedReturns = expectedReturns;
+        this.riskFactors = riskFactors;
+        this.scaledRisks = scaledRisks;
+        this.sectorIds = sectorIds;
+        this.sectorNames = sectorNames;
+        this.scaleFactor = scaleFactor;
+        this.options = options;
+    }
+
+    private static int[] scale(double[] riskFactors, int scaleFactor) {
+        int[] scaledRisks = new int[riskFactors.length];
+        for (int i = 0; i < riskFactors.length; i++) {
+            scaledRisks[i] = (int) (riskFactors[i] * scaleFactor);
+        }
+        return scaledRisks;
+    }
+
+    /**
+     * Builds a struct-of-arrays view of an investment list with the default risk scaling
+     *
+     * @param investments List of investment options
+     * @return Immutable investment universe
+     */
+    public static InvestmentUniverse of(List<InvestmentOption> investments) {
+        return of(investments, DEFAULT_SCALE_FACTOR);
+    }
+
+    /**
+     * Builds a struct-of-arrays view of an investment list
+     *
+     * @param investments List of investment options
+     * @param scaleFactor Factor applied to risks before truncating them to int
+     * @return Immutable investment universe
+     */
+    public static InvestmentUniverse of(List<InvestmentOption> investments, int scaleFactor) {
+        int n = investments.size();
+        String[] names = new String[n];
+        double[] expectedReturns = new double[n];
+        double[] riskFactors = new double[n];
+        int[] sectorIds = new int[n];
+        InvestmentOption[] options = investments.toArray(new InvestmentOption[0]);
+
+        Map<String, Integer> sectorIndex = new HashMap<>();
+        List<String> sectorNames = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            InvestmentOption investment = options[i];
+            names[i] = investment.getName();
+            expectedReturns[i] = investment.getExpectedReturn();
+            riskFactors[i] = investment.getRiskFactor();
+
+            Integer id = sectorIndex.get(investment.getSector());
+            if (id == null) {
+                id = sectorNames.size();
+                sectorIndex.put(investment.getSector(), id);
+                sectorNames.add(investment.getSector());
+            }
+            sectorIds[i] = id;
+        }
+
+        return new InvestmentUniverse(names, expectedReturns, riskFactors, sectorIds,
+                sectorNames.toArray(new String[0]), scaleFactor, options);
+    }
+
+    /**
+     * Builds a universe directly from primitive columns, e.g. as produced by a bulk loader.
+     * The arrays are taken over without copying and must not be modified afterwards.
+     *
+     * @param names Investment names
+     * @param expectedReturns Expected return of each investment
+     * @param riskFactors Risk factor of each investment
+     * @param sectorIds Index into sectorNames for each investment
+     * @param sectorNames Distinct sector names
+     * @param scaleFactor Factor applied to risks before truncating them to int
+     * @return Immutable investment universe
+     */
+    public static InvestmentUniverse fromColumns(String[] names, double[] expectedReturns, double[] riskFactors,
+                                                 int[] sectorIds, String[] sectorNames, int scaleFactor) {
+        int n = names.length;
+        if (expectedReturns.length != n || riskFactors.length != n || sectorIds.length != n) {
+            throw new IllegalArgumentException("All columns must have the same length");
+        }
+        for (int sectorId : sectorIds) {
+            if (sectorId < 0 || sectorId >= sectorNames.length) {
+                throw new IllegalArgumentException("Sector id " + sectorId + " has no entry in the sector table");
+            }
+        }
+        return new InvestmentUniverse(names, expectedReturns, riskFactors, sectorIds, sectorNames, scaleFactor, null);
+    }
+
+    /**
+     * Builds a universe over a subset of these investments. Scaled risks and sector ids are
+     * copied rather than recomputed, and the sector table is shared.
+     *
+     * @param indices Indices of the investments to keep, in the order they should appear
+     * @return Universe of the selected investments
+     */
+    public InvestmentUniverse subset(int[] indices) {
+        int n = indices.length;
+        String[] subNames = new String[n];
+        double[] subReturns = new double[n];
+        double[] subRisks = new double[n];
+        int[] subScaledRisks = new int[n];
+        int[] subSectorIds = new int[n];
+        InvestmentOption[] subOptions = options != null ? new InvestmentOption[n] : null;
+
+        for (int k = 0; k < n; k++) {
+            int i = indices[k];
+            subNames[k] = names[i];
+            subReturns[k] = expectedReturns[i];
+            subRisks[k] = riskFactors[i];
+            subScaledRisks[k] = scaledRisks[i];
+            subSectorIds[k] = sectorIds[i];
+            if (subOptions != null) {
+                subOptions[k] = options[i];
+            }
+        }
+
+        return new InvestmentUniverse(subNames, subReturns, subRisks, subScaledRisks, subSectorIds,
+                sectorNames, scaleFactor, subOptions);
+    }
+
+    // Getters
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    public double getExpectedReturn(int index) {
+        return expectedReturns[index];
+    }
+
+    public double getRiskFactor(int index) {
+        return riskFactors[index];
+    }
+
+    /**
+     * @return Risk of the investment multiplied by the scale factor and truncated to int
+     */
+    public int getScaledRisk(int index) {
+        return scaledRisks[index];
+    }
+
+    public int getSectorId(int index) {
+        return sectorIds[index];
+    }
+
+    public int getSectorCount() {
+        return sectorNames.length;
+    }
+
+    public String getSectorName(int sectorId) {
+        return sectorNames[sectorId];
+    }
+
+    public int getScaleFactor() {
+        return scaleFactor;
+    }
+
+    /**
+     * Returns the investment at the given index; the original object when the universe was
+     * built from a list, otherwise a new one assembled from the columns
+     *
+     * @param index Investment index
+     * @return Investment option
+     */
+    public InvestmentOption getInvestment(int index) {
+        if (options != null) {
+            return options[index];
+        }
+        return new InvestmentOption(names[index], expectedReturns[index], riskFactors[index],
+                sectorNames[sectorIds[index]]);
+    }
+
+    /**
+     * @return All investments as a list, in index order
+     */
+    public List<InvestmentOption> toList() {
+        List<InvestmentOption> investments = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            investments.add(getInvestment(i));
+        }
+        return investments;
+    }
+}
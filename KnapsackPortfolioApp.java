@@ -1,16 +1,20 @@
 // KnapsackPortfolioApp.java in com.portfolio.main
 package com.portfolio.main;
 
-import com.portfolio.algorithm.DiversifiedKnapsackSolver;
-import com.portfolio.algorithm.GreedySolver;
+import com.portfolio.algorithm.EfficientFrontier;
 import com.portfolio.algorithm.KnapsackSolver;
+import com.portfolio.algorithm.SolverCache;
 import com.portfolio.model.InvestmentOption;
 import com.portfolio.model.Portfolio;
+import com.portfolio.util.CsvLoadReport;
 import com.portfolio.util.CustomInvestmentCreator;
 import com.portfolio.util.InvestmentDataLoader;
+import com.portfolio.util.MappedCsvLoader;
 import com.portfolio.util.PerformanceAnalyzer;
+import com.portfolio.util.UniverseSnapshot;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -23,6 +27,12 @@ public class KnapsackPortfolioApp {
     private static double riskTolerance = 50.0;
     private static Scanner scanner = new Scanner(System.in);
 
+    // DP frontier for the current investments; answers any tolerance up to the one it was built for
+    private static EfficientFrontier frontier;
+
+    // Results of the other solvers, keyed by investment fingerprint and solver parameters
+    private static final SolverCache solverCache = new SolverCache(64);
+
     public static void main(String[] args) {
         System.out.println("===================================");
         System.out.println("KNAPSACK PORTFOLIO OPTIMIZER");
@@ -117,20 +127,20 @@ public class KnapsackPortfolioApp {
 
         switch (choice) {
             case 1:
-                portfolio = KnapsackSolver.solveWithDP(investments, riskTolerance);
+                portfolio = getEfficientFrontier().portfolioAt(riskTolerance);
                 System.out.println("\n=== OPTIMAL PORTFOLIO (DYNAMIC PROGRAMMING) ===");
                 break;
             case 2:
-                portfolio = GreedySolver.solveHighestReturnFirst(investments, riskTolerance);
+                portfolio = solverCache.solveHighestReturnFirst(investments, riskTolerance);
                 System.out.println("\n=== GREEDY PORTFOLIO (HIGHEST RETURN FIRST) ===");
                 break;
             case 3:
-                portfolio = GreedySolver.solveBestRatioFirst(investments, riskTolerance);
+                portfolio = solverCache.solveBestRatioFirst(investments, riskTolerance);
                 System.out.println("\n=== GREEDY PORTFOLIO (BEST RETURN/RISK RATIO) ===");
                 break;
             case 4:
                 double maxSectorAllocation = getDoubleInput("Enter maximum sector allocation (0.0-1.0): ");
-                portfolio = DiversifiedKnapsackSolver.solveWithSectorConstraints(
+                portfolio = solverCache.solveWithSectorConstraints(
                         investments, riskTolerance, maxSectorAllocation);
                 System.out.println("\n=== DIVERSIFIED PORTFOLIO (MAX " +
                         (maxSectorAllocation * 100) + "% PER SECTOR) ===");
@@ -147,7 +157,7 @@ public class KnapsackPortfolioApp {
 
     private static void loadInvestmentsFromFile() {
         System.out.println("\n=== LOAD INVESTMENTS FROM FILE ===");
-        System.out.print("Enter CSV file path: ");
+        System.out.print("Enter CSV or snapshot file path: ");
         String filePath = scanner.nextLine().trim();
 
         File file = new File(filePath);
@@ -156,7 +166,20 @@ public class KnapsackPortfolioApp {
             return;
         }
 
-        List<InvestmentOption> loadedInvestments = InvestmentDataLoader.loadFromCSV(filePath);
+        List<InvestmentOption> loadedInvestments;
+        if (UniverseSnapshot.isSnapshot(filePath)) {
+            loadedInvestments = InvestmentDataLoader.loadSnapshot(filePath);
+        } else {
+            CsvLoadReport report;
+            try {
+                report = MappedCsvLoader.load(filePath);
+            } catch (IOException e) {
+                System.err.println("Error reading investment data: " + e.getMessage());
+                return;
+            }
+            System.out.println(report);
+            loadedInvestments = report.getUniverse().toList();
+        }
 
         if (loadedInvestments.isEmpty()) {
             System.out.println("No valid investments found in the file or file format is incorrect.");
@@ -164,6 +187,7 @@ public class KnapsackPortfolioApp {
         }
 
         investments = loadedInvestments;
+        invalidateResults();
         System.out.println("Successfully loaded " + investments.size() + " investments from file.");
     }
 
@@ -172,16 +196,21 @@ public class KnapsackPortfolioApp {
 
         if (!customInvestments.isEmpty()) {
             investments.addAll(customInvestments);
+            invalidateResults();
             System.out.println("Added " + customInvestments.size() + " custom investments.");
         }
     }
 
     private static void saveInvestmentsToFile() {
         System.out.println("\n=== SAVE INVESTMENTS TO FILE ===");
-        System.out.print("Enter output CSV file path: ");
+        System.out.print("Enter output file path (CSV, or " + UniverseSnapshot.FILE_EXTENSION + " for a binary snapshot): ");
         String filePath = scanner.nextLine().trim();
 
-        InvestmentDataLoader.saveToCSV(investments, filePath);
+        if (filePath.endsWith(UniverseSnapshot.FILE_EXTENSION)) {
+            InvestmentDataLoader.saveSnapshot(investments, filePath);
+        } else {
+            InvestmentDataLoader.saveToCSV(investments, filePath);
+        }
         System.out.println("Investments saved to: " + filePath);
     }
 
@@ -191,20 +220,22 @@ public class KnapsackPortfolioApp {
         Map<String, Portfolio> portfolios = new HashMap<>();
 
         // Optimal solution (DP)
-        portfolios.put("Optimal (DP)", KnapsackSolver.solveWithDP(investments, riskTolerance));
+        portfolios.put("Optimal (DP)", getEfficientFrontier().portfolioAt(riskTolerance));
 
         // Greedy solutions
-        portfolios.put("Greedy (Return)", GreedySolver.solveHighestReturnFirst(investments, riskTolerance));
-        portfolios.put("Greedy (Return/Risk)", GreedySolver.solveBestRatioFirst(investments, riskTolerance));
+        portfolios.put("Greedy (Return)", solverCache.solveHighestReturnFirst(investments, riskTolerance));
+        portfolios.put("Greedy (Return/Risk)", solverCache.solveBestRatioFirst(investments, riskTolerance));
 
         // Diversified solutions with different constraints
         portfolios.put("Diversified (30%)",
-                DiversifiedKnapsackSolver.solveWithSectorConstraints(investments, riskTolerance, 0.3));
+                solverCache.solveWithSectorConstraints(investments, riskTolerance, 0.3));
         portfolios.put("Diversified (40%)",
-                DiversifiedKnapsackSolver.solveWithSectorConstraints(investments, riskTolerance, 0.4));
+                solverCache.solveWithSectorConstraints(investments, riskTolerance, 0.4));
 
         // Print comparison table
         PerformanceAnalyzer.printComparisonTable(portfolios);
+        System.out.println("\nSolver cache: " + solverCache.getHits() + " hits, "
+                + solverCache.getMisses() + " misses");
 
         // Ask if user wants to see detailed portfolios
         System.out.print("\nDo you want to see detailed portfolio allocations? (y/n): ");
@@ -220,9 +251,29 @@ public class KnapsackPortfolioApp {
 
     private static void resetToSampleData() {
         investments = createSampleInvestments();
+        invalidateResults();
         System.out.println("Reset to sample investment data.");
     }
 
+    /**
+     * Discards every solver result computed for the previous investments
+     */
+    private static void invalidateResults() {
+        frontier = null;
+        solverCache.invalidate();
+    }
+
+    /**
+     * Returns the DP frontier for the current investments, rebuilding it only when the
+     * investments changed or the risk tolerance grew beyond its range
+     */
+    private static EfficientFrontier getEfficientFrontier() {
+        if (frontier == null || !frontier.covers(riskTolerance)) {
+            frontier = KnapsackSolver.buildEfficientFrontier(investments, riskTolerance);
+        }
+        return frontier;
+    }
+
     private static int getIntInput(String prompt) {
         int value = 0;
         boolean validInput = false;
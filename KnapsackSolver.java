@@ -2,12 +2,28 @@
 package com.portfolio.algorithm;
 
 import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.InvestmentUniverse;
 import com.portfolio.model.Portfolio;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class KnapsackSolver {
 
+    // Risk values are scaled by this factor and truncated to int to index the DP table
+    static final int SCALE_FACTOR = 100;
+
+    // Subproblems with at most this many (item, capacity) cells are solved directly with a bitset
+    private static final int LINEAR_MEMORY_BASE_CELLS = 1 << 16;
+
+    // Default number of capacity cells handled by one fork-join task in solveWithParallelDP
+    private static final int DEFAULT_PARALLEL_GRAIN = 1 << 13;
+
+    // Rows narrower than this are filled sequentially; forking would cost more than it saves
+    private static final int PARALLEL_MIN_ROW_WIDTH = 1 << 15;
+
     /**
      * Solves the 0/1 Knapsack problem using dynamic programming to optimize investment portfolio
      *
@@ -16,52 +32,596 @@ public class KnapsackSolver {
      * @return Optimized portfolio
      */
     public static Portfolio solveWithDP(List<InvestmentOption> investments, double riskTolerance) {
+        return solveWithDP(InvestmentUniverse.of(investments, SCALE_FACTOR), riskTolerance);
+    }
 
-        int n = investments.size();
+    /**
+     * Same as solveWithDP(List, double) over a struct-of-arrays universe, using its pre-scaled risks
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance (knapsack capacity)
+     * @return Optimized portfolio
+     */
+    public static Portfolio solveWithDP(InvestmentUniverse universe, double riskTolerance) {
+        boolean observed = SolverEvents.isObserved();
+        long start = SolverEvents.now(observed);
+
+        int n = universe.size();
 
         // Scale risk values to work with DP table
-        int scaleFactor = 100;
-        int scaledRiskTolerance = (int) (riskTolerance * scaleFactor);
+        int scaledRiskTolerance = (int) (riskTolerance * universe.getScaleFactor());
 
         // Create DP table
         double[][] dp = new double[n + 1][scaledRiskTolerance + 1];
 
         // Fill the dp table
         for (int i = 1; i <= n; i++) {
-            for (int w = 0; w <= scaledRiskTolerance; w++) {
-                // Get current investment
-                InvestmentOption investment = investments.get(i - 1);
-                int scaledRisk = (int) (investment.getRiskFactor() * scaleFactor);
+            // Get current investment
+            int scaledRisk = universe.getScaledRisk(i - 1);
+            double expectedReturn = universe.getExpectedReturn(i - 1);
+            double[] previous = dp[i - 1];
+            double[] current = dp[i];
 
+            for (int w = 0; w <= scaledRiskTolerance; w++) {
                 // If current investment can't fit, take previous value
                 if (scaledRisk > w) {
-                    dp[i][w] = dp[i - 1][w];
+                    current[w] = previous[w];
                 } else {
                     // Otherwise, take maximum of:
                     // 1. Previous value (not taking this investment)
                     // 2. Value of this investment + best value for remaining capacity
-                    dp[i][w] = Math.max(dp[i - 1][w],
-                            investment.getExpectedReturn() + dp[i - 1][w - scaledRisk]);
+                    current[w] = Math.max(previous[w], expectedReturn + previous[w - scaledRisk]);
                 }
             }
         }
 
         // Reconstruct the solution
+        long reconstructionStart = SolverEvents.now(observed);
         Portfolio portfolio = new Portfolio();
         int w = scaledRiskTolerance;
 
         for (int i = n; i > 0; i--) {
             // Check if including the current item gives the optimal value
             if (dp[i][w] != dp[i - 1][w]) {
-                InvestmentOption investment = investments.get(i - 1);
-                portfolio.addInvestment(investment);
+                portfolio.addInvestment(universe.getInvestment(i - 1));
 
                 // Reduce the remaining capacity
-                int scaledRisk = (int) (investment.getRiskFactor() * scaleFactor);
-                w -= scaledRisk;
+                w -= universe.getScaledRisk(i - 1);
             }
         }
 
+        if (observed) {
+            long end = System.nanoTime();
+            long cells = (long) n * (scaledRiskTolerance + 1);
+            SolverEvents.publish(new SolverStats("KnapsackSolver.solveWithDP", n, cells,
+                    (cells + scaledRiskTolerance + 1) * Double.BYTES, 0, 0, end - start, end - reconstructionStart));
+        }
         return portfolio;
     }
+
+    /**
+     * Memory-lean variant of solveWithDP. Keeps a single rolling value row plus a packed
+     * take/skip bitset per investment, so the footprint is (W + 1) doubles and n * (W + 1) bits
+     * instead of the full (n + 1) x (W + 1) double table.
+     *
+     * @param investments List of available investment options
+     * @param riskTolerance Maximum risk tolerance (knapsack capacity)
+     * @return Optimized portfolio, identical to the one returned by solveWithDP
+     */
+    public static Portfolio solveWithCompactDP(List<InvestmentOption> investments, double riskTolerance) {
+        return solveWithCompactDP(InvestmentUniverse.of(investments, SCALE_FACTOR), riskTolerance);
+    }
+
+    /**
+     * Same as solveWithCompactDP(List, double) over a struct-of-arrays universe, using its pre-scaled risks
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance (knapsack capacity)
+     * @return Optimized portfolio
+     */
+    public static Portfolio solveWithCompactDP(InvestmentUniverse universe, double riskTolerance) {
+        int scaledRiskTolerance = (int) (riskTolerance * universe.getScaleFactor());
+        return solveCompact("KnapsackSolver.solveWithCompactDP", universe, scaledRisks(universe), scaledRiskTolerance);
+    }
+
+    /**
+     * Solves the problem on an automatically normalized risk grid instead of the fixed x100 scaling.
+     * Risks are converted to integers at their actual decimal precision and divided by their
+     * greatest common divisor, which usually shrinks the table considerably. Risks are never
+     * rounded: data whose risks need more than six decimals, or whose table would exceed
+     * RiskGrid.MAX_TABLE_WIDTH cells, is rejected (see RiskGrid.normalize).
+     *
+     * @param investments List of available investment options
+     * @param riskTolerance Maximum risk tolerance (knapsack capacity)
+     * @return Optimized portfolio
+     * @throws IllegalArgumentException If the risks have no exact grid of bounded width
+     */
+    public static Portfolio solveWithNormalizedDP(List<InvestmentOption> investments, double riskTolerance) {
+        return solveWithNormalizedDP(InvestmentUniverse.of(investments, SCALE_FACTOR), riskTolerance);
+    }
+
+    /**
+     * Same as solveWithNormalizedDP(List, double) over a struct-of-arrays universe
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance (knapsack capacity)
+     * @return Optimized portfolio
+     */
+    public static Portfolio solveWithNormalizedDP(InvestmentUniverse universe, double riskTolerance) {
+        return solveWithNormalizedDP(universe, RiskGrid.normalize(universe, riskTolerance));
+    }
+
+    /**
+     * Solves the problem on a precomputed risk grid, e.g. after inspecting its table width
+     *
+     * @param investments List of available investment options
+     * @param grid Risk grid built from the same investments
+     * @return Optimized portfolio
+     */
+    public static Portfolio solveWithNormalizedDP(List<InvestmentOption> investments, RiskGrid grid) {
+        return solveWithNormalizedDP(InvestmentUniverse.of(investments, SCALE_FACTOR), grid);
+    }
+
+    /**
+     * Solves the problem for a universe on a precomputed risk grid
+     *
+     * @param universe Available investments
+     * @param grid Risk grid built from the same universe
+     * @return Optimized portfolio
+     */
+    public static Portfolio solveWithNormalizedDP(InvestmentUniverse universe, RiskGrid grid) {
+        return solveCompact("KnapsackSolver.solveWithNormalizedDP", universe, grid.getScaledRisks(),
+                grid.getScaledRiskTolerance());
+    }
+
+    /**
+     * Builds the efficient frontier for every risk tolerance up to the given maximum in a single
+     * DP pass. The final row and the decision bitset are retained, so the best return at any
+     * tolerance is an O(1) lookup and its portfolio an O(n) reconstruction, both identical to
+     * what solveWithDP returns for that tolerance.
+     *
+     * @param investments List of available investment options
+     * @param maxRiskTolerance Largest risk tolerance the frontier has to answer for
+     * @return Efficient frontier over [0, maxRiskTolerance]
+     */
+    public static EfficientFrontier buildEfficientFrontier(List<InvestmentOption> investments,
+                                                           double maxRiskTolerance) {
+        return buildEfficientFrontier(InvestmentUniverse.of(investments, SCALE_FACTOR), maxRiskTolerance);
+    }
+
+    /**
+     * Same as buildEfficientFrontier(List, double) over a struct-of-arrays universe
+     *
+     * @param universe Available investments
+     * @param maxRiskTolerance Largest risk tolerance the frontier has to answer for
+     * @return Efficient frontier over [0, maxRiskTolerance]
+     */
+    public static EfficientFrontier buildEfficientFrontier(InvestmentUniverse universe, double maxRiskTolerance) {
+        boolean observed = SolverEvents.isObserved();
+        long start = SolverEvents.now(observed);
+        int scaledRiskTolerance = (int) (maxRiskTolerance * universe.getScaleFactor());
+        int[] scaledRisks = scaledRisks(universe);
+
+        double[] dp = new double[scaledRiskTolerance + 1];
+        long[][] decisions = new long[universe.size()][(scaledRiskTolerance >>> 6) + 1];
+        fillCompact(universe, scaledRisks, dp, decisions);
+
+        if (observed) {
+            SolverEvents.publish(new SolverStats("KnapsackSolver.buildEfficientFrontier", universe.size(),
+                    compactCells(scaledRisks, dp.length), compactBytes(universe.size(), dp.length), 0, 0,
+                    System.nanoTime() - start, 0));
+        }
+        return new EfficientFrontier(universe, scaledRisks, dp, decisions);
+    }
+
+    /**
+     * Copies the universe's pre-scaled risks into an array
+     */
+    private static int[] scaledRisks(InvestmentUniverse universe) {
+        int[] scaledRisks = new int[universe.size()];
+        for (int i = 0; i < scaledRisks.length; i++) {
+            scaledRisks[i] = universe.getScaledRisk(i);
+        }
+        return scaledRisks;
+    }
+
+    /**
+     * Rolling-row DP with a packed decision bitset over already scaled risks
+     */
+    private static Portfolio solveCompact(String solver, InvestmentUniverse universe, int[] scaledRisks,
+                                          int scaledRiskTolerance) {
+        boolean observed = SolverEvents.isObserved();
+        long start = SolverEvents.now(observed);
+
+        double[] dp = new double[scaledRiskTolerance + 1];
+        long[][] decisions = new long[universe.size()][(scaledRiskTolerance >>> 6) + 1];
+        fillCompact(universe, scaledRisks, dp, decisions);
+
+        long reconstructionStart = SolverEvents.now(observed);
+        Portfolio portfolio = reconstruct(universe, scaledRisks, decisions, scaledRiskTolerance);
+        if (observed) {
+            long end = System.nanoTime();
+            SolverEvents.publish(new SolverStats(solver, universe.size(), compactCells(scaledRisks, dp.length),
+                    compactBytes(universe.size(), dp.length), 0, 0, end - start, end - reconstructionStart));
+        }
+        return portfolio;
+    }
+
+    /**
+     * Cells computed by fillCompact and RowTask: each investment only touches capacities it fits
+     */
+    private static long compactCells(int[] scaledRisks, int width) {
+        long cells = 0;
+        for (int scaledRisk : scaledRisks) {
+            cells += Math.max(0, width - scaledRisk);
+        }
+        return cells;
+    }
+
+    /**
+     * One value row plus a decision bitset row per investment
+     */
+    private static long compactBytes(int n, int width) {
+        return (long) width * Double.BYTES + (long) n * (((width - 1) >>> 6) + 1) * Long.BYTES;
+    }
+
+    /**
+     * Rolls dp forward over all investments; decisions[i] gets bit w set when investment i
+     * improves the value at capacity w
+     */
+    private static void fillCompact(InvestmentUniverse universe, int[] scaledRisks,
+                                    double[] dp, long[][] decisions) {
+        int scaledRiskTolerance = dp.length - 1;
+
+        for (int i = 0; i < universe.size(); i++) {
+            int scaledRisk = scaledRisks[i];
+            double expectedReturn = universe.getExpectedReturn(i);
+            long[] taken = decisions[i];
+
+            // Walk capacities downwards so dp[w - scaledRisk] still holds the previous row;
+            // cells below scaledRisk keep the previous value and need no work at all
+            for (int w = scaledRiskTolerance; w >= scaledRisk; w--) {
+                double candidate = expectedReturn + dp[w - scaledRisk];
+                if (candidate > dp[w]) {
+                    dp[w] = candidate;
+                    taken[w >>> 6] |= 1L << w;
+                }
+            }
+        }
+    }
+
+    /**
+     * Walks the decision bitset back from the given capacity, visiting investments in the
+     * same order as solveWithDP
+     */
+    static Portfolio reconstruct(InvestmentUniverse universe, int[] scaledRisks,
+                                 long[][] decisions, int scaledRiskTolerance) {
+        Portfolio portfolio = new Portfolio();
+        int w = scaledRiskTolerance;
+
+        for (int i = universe.size() - 1; i >= 0; i--) {
+            if ((decisions[i][w >>> 6] & (1L << w)) != 0) {
+                portfolio.addInvestment(universe.getInvestment(i));
+                w -= scaledRisks[i];
+            }
+        }
+
+        return portfolio;
+    }
+
+    /**
+     * Linear-memory variant of solveWithDP using Hirschberg-style divide and conquer.
+     * The investments are split in half, a forward row is computed over the first half and a
+     * backward row over the second, the capacity split maximising their sum is chosen and each
+     * half is solved recursively within its share. Memory is O(n + W) at roughly twice the work
+     * of a single DP pass.
+     *
+     * @param investments List of available investment options
+     * @param riskTolerance Maximum risk tolerance (knapsack capacity)
+     * @return Optimized portfolio with the same total return as solveWithDP
+     *         (ties between equally good selections may be broken differently)
+     */
+    public static Portfolio solveWithLinearMemoryDP(List<InvestmentOption> investments, double riskTolerance) {
+        return solveWithLinearMemoryDP(InvestmentUniverse.of(investments, SCALE_FACTOR), riskTolerance);
+    }
+
+    /**
+     * Same as solveWithLinearMemoryDP(List, double) over a struct-of-arrays universe, using its pre-scaled risks
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance (knapsack capacity)
+     * @return Optimized portfolio
+     */
+    public static Portfolio solveWithLinearMemoryDP(InvestmentUniverse universe, double riskTolerance) {
+        boolean observed = SolverEvents.isObserved();
+        long start = SolverEvents.now(observed);
+
+        int n = universe.size();
+        int scaledRiskTolerance = (int) (riskTolerance * universe.getScaleFactor());
+
+        int[] scaledRisks = scaledRisks(universe);
+        double[] returns = new double[n];
+        for (int i = 0; i < n; i++) {
+            returns[i] = universe.getExpectedReturn(i);
+        }
+
+        // Both rows are reused at every level of the recursion
+        double[] forward = new double[scaledRiskTolerance + 1];
+        double[] backward = new double[scaledRiskTolerance + 1];
+        long[] baseDecisions = new long[(LINEAR_MEMORY_BASE_CELLS >>> 6) + 1];
+        boolean[] selected = new boolean[n];
+
+        long cells = selectRange(0, n, scaledRiskTolerance, scaledRisks, returns, forward, backward,
+                baseDecisions, selected);
+
+        // Add in descending index order, matching the reconstruction order of solveWithDP
+        Portfolio portfolio = new Portfolio();
+        for (int i = n - 1; i >= 0; i--) {
+            if (selected[i]) {
+                portfolio.addInvestment(universe.getInvestment(i));
+            }
+        }
+
+        if (observed) {
+            long bytes = 2L * forward.length * Double.BYTES + (long) baseDecisions.length * Long.BYTES;
+            SolverEvents.publish(new SolverStats("KnapsackSolver.solveWithLinearMemoryDP", n, cells, bytes,
+                    0, 0, System.nanoTime() - start, 0));
+        }
+        return portfolio;
+    }
+
+    /**
+     * Marks the optimal selection of investments [from, to) within the given capacity
+     *
+     * @return Number of DP cells computed
+     */
+    private static long selectRange(int from, int to, int capacity, int[] scaledRisks, double[] returns,
+                                    double[] forward, double[] backward, long[] baseDecisions,
+                                    boolean[] selected) {
+        int count = to - from;
+        if (count == 0) {
+            return 0;
+        }
+
+        if (count == 1) {
+            selected[from] = scaledRisks[from] <= capacity && returns[from] > 0;
+            return 1;
+        }
+
+        if ((long) count * (capacity + 1) <= LINEAR_MEMORY_BASE_CELLS) {
+            return selectWithBitset(from, to, capacity, scaledRisks, returns, forward, baseDecisions, selected);
+        }
+
+        int mid = (from + to) >>> 1;
+        long cells = fillRow(from, mid, capacity, scaledRisks, returns, forward)
+                + fillRow(mid, to, capacity, scaledRisks, returns, backward);
+
+        // Pick the capacity share for the first half that maximises the combined return
+        int split = 0;
+        double best = Double.NEGATIVE_INFINITY;
+        for (int c = 0; c <= capacity; c++) {
+            double combined = forward[c] + backward[capacity - c];
+            if (combined > best) {
+                best = combined;
+                split = c;
+            }
+        }
+
+        cells += selectRange(from, mid, split, scaledRisks, returns, forward, backward, baseDecisions, selected);
+        cells += selectRange(mid, to, capacity - split, scaledRisks, returns, forward, backward,
+                baseDecisions, selected);
+        return cells;
+    }
+
+    /**
+     * Fills row[0..capacity] with the best return achievable from investments [from, to)
+     *
+     * @return Number of DP cells computed
+     */
+    private static long fillRow(int from, int to, int capacity, int[] scaledRisks, double[] returns,
+                                double[] row) {
+        Arrays.fill(row, 0, capacity + 1, 0.0);
+        long cells = 0;
+        for (int i = from; i < to; i++) {
+            int scaledRisk = scaledRisks[i];
+            double expectedReturn = returns[i];
+            cells += Math.max(0, capacity + 1 - scaledRisk);
+            for (int w = capacity; w >= scaledRisk; w--) {
+                double candidate = expectedReturn + row[w - scaledRisk];
+                if (candidate > row[w]) {
+                    row[w] = candidate;
+                }
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Solves a small subproblem directly with a rolling row and a flat decision bitset
+     *
+     * @return Number of DP cells computed
+     */
+    private static long selectWithBitset(int from, int to, int capacity, int[] scaledRisks, double[] returns,
+                                         double[] row, long[] decisions, boolean[] selected) {
+        int width = capacity + 1;
+        int count = to - from;
+        Arrays.fill(row, 0, width, 0.0);
+        Arrays.fill(decisions, 0, (int) (((long) count * width) >>> 6) + 1, 0L);
+
+        long cells = 0;
+        for (int k = 0; k < count; k++) {
+            int scaledRisk = scaledRisks[from + k];
+            double expectedReturn = returns[from + k];
+            int offset = k * width;
+            cells += Math.max(0, width - scaledRisk);
+            for (int w = capacity; w >= scaledRisk; w--) {
+                double candidate = expectedReturn + row[w - scaledRisk];
+                if (candidate > row[w]) {
+                    row[w] = candidate;
+                    int bit = offset + w;
+                    decisions[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+
+        int w = capacity;
+        for (int k = count - 1; k >= 0; k--) {
+            int bit = k * width + w;
+            if ((decisions[bit >>> 6] & (1L << bit)) != 0) {
+                selected[from + k] = true;
+                w -= scaledRisks[from + k];
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Parallel variant of solveWithCompactDP using the common fork-join pool and the default grain size
+     *
+     * @param investments List of available investment options
+     * @param riskTolerance Maximum risk tolerance (knapsack capacity)
+     * @return Optimized portfolio, identical to the one returned by solveWithDP
+     */
+    public static Portfolio solveWithParallelDP(List<InvestmentOption> investments, double riskTolerance) {
+        return solveWithParallelDP(investments, riskTolerance, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_GRAIN);
+    }
+
+    /**
+     * Same as solveWithParallelDP(List, double) over a struct-of-arrays universe, using its pre-scaled risks
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance (knapsack capacity)
+     * @return Optimized portfolio
+     */
+    public static Portfolio solveWithParallelDP(InvestmentUniverse universe, double riskTolerance) {
+        return solveWithParallelDP(universe, riskTolerance, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_GRAIN);
+    }
+
+    /**
+     * Parallel variant of solveWithCompactDP. Every cell of a DP row depends only on the previous
+     * row, so the capacity range of each row is partitioned across the pool. Partitions are aligned
+     * to 64 cells so tasks never share a word of the decision bitset. Rows narrower than
+     * PARALLEL_MIN_ROW_WIDTH, or a pool with a single worker, fall back to the sequential version.
+     *
+     * @param investments List of available investment options
+     * @param riskTolerance Maximum risk tolerance (knapsack capacity)
+     * @param pool Fork-join pool that computes the rows
+     * @param grainSize Maximum number of capacity cells computed by a single task
+     * @return Optimized portfolio, identical to the one returned by solveWithDP
+     */
+    public static Portfolio solveWithParallelDP(List<InvestmentOption> investments, double riskTolerance,
+                                               ForkJoinPool pool, int grainSize) {
+        return solveWithParallelDP(InvestmentUniverse.of(investments, SCALE_FACTOR), riskTolerance, pool, grainSize);
+    }
+
+    /**
+     * Same as solveWithParallelDP(List, double, ForkJoinPool, int) over a struct-of-arrays universe
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance (knapsack capacity)
+     * @param pool Fork-join pool that computes the rows
+     * @param grainSize Maximum number of capacity cells computed by a single task
+     * @return Optimized portfolio
+     */
+    public static Portfolio solveWithParallelDP(InvestmentUniverse universe, double riskTolerance,
+                                               ForkJoinPool pool, int grainSize) {
+        if (grainSize <= 0) {
+            throw new IllegalArgumentException("Grain size must be positive, got " + grainSize);
+        }
+
+        int n = universe.size();
+        int scaledRiskTolerance = (int) (riskTolerance * universe.getScaleFactor());
+        int width = scaledRiskTolerance + 1;
+
+        if (width < PARALLEL_MIN_ROW_WIDTH || pool.getParallelism() < 2) {
+            return solveCompact("KnapsackSolver.solveWithParallelDP", universe, scaledRisks(universe),
+                    scaledRiskTolerance);
+        }
+
+        boolean observed = SolverEvents.isObserved();
+        long start = SolverEvents.now(observed);
+
+        int wordsPerRow = (scaledRiskTolerance >>> 6) + 1;
+        int alignedGrain = Math.max(64, (grainSize + 63) & ~63);
+
+        // Two rows are needed because cells of the same row are written concurrently
+        double[] previous = new double[width];
+        double[] current = new double[width];
+        long[][] decisions = new long[n][wordsPerRow];
+        int[] scaledRisks = scaledRisks(universe);
+
+        for (int i = 0; i < n; i++) {
+            pool.invoke(new RowTask(previous, current, decisions[i], scaledRisks[i],
+                    universe.getExpectedReturn(i), 0, width, alignedGrain));
+
+            double[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        long reconstructionStart = SolverEvents.now(observed);
+        Portfolio portfolio = reconstruct(universe, scaledRisks, decisions, scaledRiskTolerance);
+        if (observed) {
+            long end = System.nanoTime();
+            SolverEvents.publish(new SolverStats("KnapsackSolver.solveWithParallelDP", n,
+                    compactCells(scaledRisks, width), compactBytes(n, width) + (long) width * Double.BYTES,
+                    0, 0, end - start, end - reconstructionStart));
+        }
+        return portfolio;
+    }
+
+    /**
+     * Computes cells [from, to) of one DP row from the previous row
+     */
+    @SuppressWarnings("serial")
+    private static final class RowTask extends RecursiveAction {
+        private final double[] previous;
+        private final double[] current;
+        private final long[] taken;
+        private final int scaledRisk;
+        private final double expectedReturn;
+        private final int from;
+        private final int to;
+        private final int grainSize;
+
+        RowTask(double[] previous, double[] current, long[] taken, int scaledRisk, double expectedReturn,
+                int from, int to, int grainSize) {
+            this.previous = previous;
+            this.current = current;
+            this.taken = taken;
+            this.scaledRisk = scaledRisk;
+            this.expectedReturn = expectedReturn;
+            this.from = from;
+            this.to = to;
+            this.grainSize = grainSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > grainSize) {
+                // Split on a multiple of 64 so each half owns whole bitset words
+                int mid = (from + ((to - from) >>> 1)) & ~63;
+                if (mid <= from) {
+                    mid = from + 64;
+                }
+                invokeAll(new RowTask(previous, current, taken, scaledRisk, expectedReturn, from, mid, grainSize),
+                        new RowTask(previous, current, taken, scaledRisk, expectedReturn, mid, to, grainSize));
+                return;
+            }
+
+            // Cells below the investment's risk cannot take it
+            int firstFit = Math.max(from, Math.min(to, scaledRisk));
+            System.arraycopy(previous, from, current, from, firstFit - from);
+
+            for (int w = firstFit; w < to; w++) {
+                double candidate = expectedReturn + previous[w - scaledRisk];
+                if (candidate > previous[w]) {
+                    current[w] = candidate;
+                    taken[w >>> 6] |= 1L << w;
+                } else {
+                    current[w] = previous[w];
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,87 @@
+// LatencyHistogram.java in com.portfolio.util
+package com.portfolio.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+
+    // Each power of two is split into 2^SUB_BUCKET_BITS buckets, bounding the relative error to ~3%
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Records one latency. Lock-free, so it can be called from any number of threads.
+     *
+     * @param nanos Latency in nanoseconds
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(bucketOf(Math.max(0, nanos)));
+        total.increment();
+        sum.add(nanos);
+    }
+
+    public long getCount() {
+        return total.sum();
+    }
+
+    public double getMeanNanos() {
+        long count = total.sum();
+        return count > 0 ? (double) sum.sum() / count : 0;
+    }
+
+    /**
+     * Latency at the given quantile, reported as the upper edge of its bucket
+     *
+     * @param quantile Quantile in [0, 1], e.g. 0.99
+     * @return Latency in nanoseconds, or 0 if nothing was recorded
+     */
+    public long percentileNanos(double quantile) {
+        long count = 0;
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int b = 0; b < BUCKET_COUNT; b++) {
+            snapshot[b] = counts.get(b);
+            count += snapshot[b];
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int b = 0; b < BUCKET_COUNT; b++) {
+            seen += snapshot[b];
+            if (seen >= rank) {
+                return upperEdge(b);
+            }
+        }
+        return upperEdge(BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Values below 2^SUB_BUCKET_BITS get exact buckets; larger ones share a bucket with the
+     * values that agree on their top SUB_BUCKET_BITS + 1 bits
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperEdge(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,81 @@
+// LoaderBenchmark.java in com.portfolio.benchmark
+package com.portfolio.benchmark;
+
+import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.InvestmentUniverse;
+import com.portfolio.util.InvestmentDataLoader;
+import com.portfolio.util.MappedCsvLoader;
+import com.portfolio.util.SampleDataGenerator;
+import com.portfolio.util.UniverseSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LoaderBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private Path directory;
+    private String csvPath;
+    private String snapshotPath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("loader-benchmark");
+        csvPath = directory.resolve("universe.csv").toString();
+        snapshotPath = directory.resolve("universe" + UniverseSnapshot.FILE_EXTENSION).toString();
+
+        SampleDataGenerator.generateCSV(csvPath, rows, 42L);
+        SampleDataGenerator.generateSnapshot(snapshotPath, rows, 42L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(csvPath));
+        Files.deleteIfExists(Path.of(snapshotPath));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<InvestmentOption> bufferedReaderCsv() {
+        return InvestmentDataLoader.loadFromCSV(csvPath);
+    }
+
+    @Benchmark
+    public InvestmentUniverse mappedParallelCsv() throws IOException {
+        return MappedCsvLoader.load(csvPath).getUniverse();
+    }
+
+    @Benchmark
+    public UniverseSnapshot snapshotOpen() throws IOException {
+        return UniverseSnapshot.open(snapshotPath);
+    }
+
+    @Benchmark
+    public InvestmentUniverse snapshotToUniverse() throws IOException {
+        return UniverseSnapshot.open(snapshotPath).toUniverse();
+    }
+}
@@ -0,0 +1,475 @@
+// MappedCsvLoader.java in com.portfolio.util
+package com.portfolio.util;
+
+import com.portfolio.model.InvestmentUniverse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class MappedCsvLoader {
+
+    // Chunks are large enough to amortise task overhead and small enough for one mapping each
+    private static final long MIN_CHUNK_BYTES = 1L << 20;
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+
+    // How many malformed line numbers the report keeps
+    private static final int MAX_REPORTED_MALFORMED = 20;
+
+    // 10^k for the fast number path; every entry is exact as a double
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+        for (int k = 1; k < POWERS_OF_TEN.length; k++) {
+            POWERS_OF_TEN[k] = POWERS_OF_TEN[k - 1] * 10.0;
+        }
+    }
+
+    /**
+     * Loads investments from a CSV file in the format of InvestmentDataLoader.loadFromCSV
+     * (name,expectedReturn,riskFactor,sector with a header line) straight into primitive
+     * columns. The file is memory-mapped and split at newline boundaries into chunks that are
+     * parsed in parallel on the common fork/join pool. Numbers are parsed from the bytes without
+     * building Strings, and sector names are interned per chunk. Lines that do not have four
+     * fields or whose numbers do not parse are counted and reported rather than skipped silently.
+     *
+     * @param filePath Path to the CSV file
+     * @return Loaded universe together with throughput and malformed-line statistics
+     * @throws IOException If the file cannot be read
+     */
+    public static CsvLoadReport load(String filePath) throws IOException {
+        return load(Paths.get(filePath), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as load(String) on a caller-supplied pool
+     *
+     * @param path Path to the CSV file
+     * @param pool Pool that parses the chunks
+     * @return Loaded universe together with throughput and malformed-line statistics
+     * @throws IOException If the file cannot be read
+     */
+    public static CsvLoadReport load(Path path, ForkJoinPool pool) throws IOException {
+        long startTime = System.nanoTime();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long dataStart = lineStartAtOrAfter(channel, 1, fileSize); // skip the header line
+            long[] bounds = chunkBounds(channel, dataStart, fileSize, pool.getParallelism());
+
+            ChunkResult[] chunks = new ChunkResult[bounds.length - 1];
+            try {
+                pool.invoke(new ChunkTask(channel, bounds, chunks, 0, chunks.length));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            return merge(chunks, fileSize, startTime);
+        }
+    }
+
+    /**
+     * Splits [dataStart, fileSize) into chunks that each start at the beginning of a line
+     */
+    private static long[] chunkBounds(FileChannel channel, long dataStart, long fileSize, int parallelism)
+            throws IOException {
+        long dataBytes = fileSize - dataStart;
+        long byParallelism = Math.min(parallelism * 4L, dataBytes / MIN_CHUNK_BYTES);
+        long bySize = (dataBytes + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES;
+        int chunkCount = (int) Math.max(1, Math.max(byParallelism, bySize));
+
+        long[] bounds = new long[chunkCount + 1];
+        bounds[0] = dataStart;
+        for (int k = 1; k < chunkCount; k++) {
+            long nominal = dataStart + dataBytes * k / chunkCount;
+            bounds[k] = Math.max(bounds[k - 1], lineStartAtOrAfter(channel, nominal, fileSize));
+        }
+        bounds[chunkCount] = fileSize;
+        return bounds;
+    }
+
+    /**
+     * First position at or after the given one that starts a line
+     */
+    private static long lineStartAtOrAfter(FileChannel channel, long position, long fileSize) throws IOException {
+        if (position <= 0) {
+            return 0;
+        }
+        ByteBuffer window = ByteBuffer.allocate(4096);
+        long offset = position - 1; // a line starts at position if the byte before it is a newline
+        while (offset < fileSize) {
+            window.clear();
+            int read = channel.read(window, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return fileSize;
+    }
+
+    /**
+     * Concatenates the chunk columns in file order and maps chunk-local sector ids to global ones
+     */
+    private static CsvLoadReport merge(ChunkResult[] chunks, long fileSize, long startTime) {
+        int rows = 0;
+        int malformed = 0;
+        for (ChunkResult chunk : chunks) {
+            rows += chunk.rows;
+            malformed += chunk.malformed;
+        }
+
+        String[] names = new String[rows];
+        double[] expectedReturns = new double[rows];
+        double[] riskFactors = new double[rows];
+        int[] sectorIds = new int[rows];
+
+        Map<String, Integer> sectorIndex = new HashMap<>();
+        List<String> sectorNames = new ArrayList<>();
+        long[] malformedLines = new long[Math.min(malformed, MAX_REPORTED_MALFORMED)];
+        int reported = 0;
+
+        int offset = 0;
+        long linesBefore = 1; // the header
+        for (ChunkResult chunk : chunks) {
+            int[] globalIds = new int[chunk.sectors.size()];
+            for (int s = 0; s < globalIds.length; s++) {
+                String sector = chunk.sectors.name(s);
+                Integer id = sectorIndex.get(sector);
+                if (id == null) {
+                    id = sectorNames.size();
+                    sectorIndex.put(sector, id);
+                    sectorNames.add(sector);
+                }
+                globalIds[s] = id;
+            }
+
+            System.arraycopy(chunk.names, 0, names, offset, chunk.rows);
+            System.arraycopy(chunk.expectedReturns, 0, expectedReturns, offset, chunk.rows);
+            System.arraycopy(chunk.riskFactors, 0, riskFactors, offset, chunk.rows);
+            for (int r = 0; r < chunk.rows; r++) {
+                sectorIds[offset + r] = globalIds[chunk.sectorIds[r]];
+            }
+
+            for (int m = 0; m < chunk.reportedMalformed && reported < malformedLines.length; m++) {
+                malformedLines[reported++] = linesBefore + chunk.malformedLines[m] + 1;
+            }
+
+            offset += chunk.rows;
+            linesBefore += chunk.lines;
+        }
+
+        InvestmentUniverse universe = InvestmentUniverse.fromColumns(names, expectedReturns, riskFactors,
+                sectorIds, sectorNames.toArray(new String[0]), InvestmentUniverse.DEFAULT_SCALE_FACTOR);
+        return new CsvLoadReport(universe, fileSize, malformed, malformedLines, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Parses a range of chunks, splitting it in half until a single chunk remains
+     */
+    @SuppressWarnings("serial")
+    private static final class ChunkTask extends RecursiveAction {
+        private final FileChannel channel;
+        private final long[] bounds;
+        private final ChunkResult[] results;
+        private final int from;
+        private final int to;
+
+        ChunkTask(FileChannel channel, long[] bounds, ChunkResult[] results, int from, int to) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ChunkTask(channel, bounds, results, from, mid),
+                        new ChunkTask(channel, bounds, results, mid, to));
+                return;
+            }
+            try {
+                long start = bounds[from];
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, bounds[from + 1] - start);
+                results[from] = new ChunkResult().parse(buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Columns parsed from one chunk, with sector ids local to the chunk
+     */
+    private static final class ChunkResult {
+        private String[] names = new String[1024];
+        private double[] expectedReturns = new double[1024];
+        private double[] riskFactors = new double[1024];
+        private int[] sectorIds = new int[1024];
+        private int rows;
+
+        private final SectorTable sectors = new SectorTable();
+        private long lines;
+        private int malformed;
+        private final long[] malformedLines = new long[MAX_REPORTED_MALFORMED];  // chunk-relative line index
+        private int reportedMalformed;
+
+        private byte[] scratch = new byte[256];
+        private boolean numberFailed;
+
+        ChunkResult parse(ByteBuffer buffer) {
+            int limit = buffer.limit();
+            int position = 0;
+            while (position < limit) {
+                int lineEnd = position;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                int end = lineEnd;
+                if (end > position && buffer.get(end - 1) == '\r') {
+                    end--;
+                }
+
+                if (!isBlank(buffer, position, end) && !parseRow(buffer, position, end)) {
+                    if (reportedMalformed < MAX_REPORTED_MALFORMED) {
+                        malformedLines[reportedMalformed++] = lines;
+                    }
+                    malformed++;
+                }
+                lines++;
+                position = lineEnd + 1;
+            }
+            return this;
+        }
+
+        /**
+         * Parses name,expectedReturn,riskFactor,sector[,ignored...] and appends it to the columns
+         */
+        private boolean parseRow(ByteBuffer buffer, int start, int end) {
+            int c1 = indexOfComma(buffer, start, end);
+            int c2 = c1 < 0 ? -1 : indexOfComma(buffer, c1 + 1, end);
+            int c3 = c2 < 0 ? -1 : indexOfComma(buffer, c2 + 1, end);
+            if (c3 < 0) {
+                return false;
+            }
+            int c4 = indexOfComma(buffer, c3 + 1, end);
+            int sectorEnd = c4 < 0 ? end : c4;
+
+            numberFailed = false;
+            double expectedReturn = parseNumber(buffer, c1 + 1, c2);
+            double riskFactor = parseNumber(buffer, c2 + 1, c3);
+            if (numberFailed) {
+                return false;
+            }
+
+            if (rows == names.length) {
+                int capacity = rows * 2;
+                names = Arrays.copyOf(names, capacity);
+                expectedReturns = Arrays.copyOf(expectedReturns, capacity);
+                riskFactors = Arrays.copyOf(riskFactors, capacity);
+                sectorIds = Arrays.copyOf(sectorIds, capacity);
+            }
+
+            names[rows] = decode(buffer, start, c1);
+            expectedReturns[rows] = expectedReturn;
+            riskFactors[rows] = riskFactor;
+            sectorIds[rows] = sectors.intern(buffer, trimStart(buffer, c3 + 1, sectorEnd), trimEnd(buffer, c3 + 1, sectorEnd));
+            rows++;
+            return true;
+        }
+
+        /**
+         * Parses a decimal number from bytes. Plain decimals with at most 15 significant digits
+         * are computed as one exact division, which gives the same double as Double.parseDouble;
+         * anything else (exponents, longer mantissas, NaN, ...) falls back to Double.parseDouble.
+         */
+        private double parseNumber(ByteBuffer buffer, int start, int end) {
+            int from = trimStart(buffer, start, end);
+            int to = trimEnd(buffer, start, end);
+
+            int i = from;
+            boolean negative = false;
+            if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+                negative = buffer.get(i) == '-';
+                i++;
+            }
+
+            long mantissa = 0;
+            int digits = 0;
+            int fractionDigits = -1; // -1 until the decimal point is seen
+            for (; i < to; i++) {
+                byte b = buffer.get(i);
+                if (b >= '0' && b <= '9') {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (fractionDigits >= 0) {
+                        fractionDigits++;
+                    }
+                } else if (b == '.' && fractionDigits < 0) {
+                    fractionDigits = 0;
+                } else {
+                    break;
+                }
+                if (digits > 15) {
+                    break;
+                }
+            }
+
+            if (i == to && digits > 0 && digits <= 15) {
+                double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+                return negative ? -value : value;
+            }
+
+            try {
+                return Double.parseDouble(decode(buffer, from, to));
+            } catch (NumberFormatException e) {
+                numberFailed = true;
+                return 0;
+            }
+        }
+
+        private String decode(ByteBuffer buffer, int start, int end) {
+            int from = trimStart(buffer, start, end);
+            int length = trimEnd(buffer, start, end) - from;
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(from, scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Open-addressing table that interns sector names by their bytes, so a String is only
+     * created the first time a chunk sees a sector
+     */
+    private static final class SectorTable {
+        private byte[][] keys = new byte[64][];
+        private int[] ids = new int[64];
+        private final List<String> names = new ArrayList<>();
+
+        int intern(ByteBuffer buffer, int start, int end) {
+            int length = end - start;
+            int hash = 1;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + buffer.get(i);
+            }
+
+            int mask = keys.length - 1;
+            int slot = mix(hash) & mask;
+            while (keys[slot] != null) {
+                if (matches(keys[slot], buffer, start, length)) {
+                    return ids[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            byte[] key = new byte[length];
+            buffer.get(start, key, 0, length);
+            int id = names.size();
+            names.add(new String(key, StandardCharsets.UTF_8));
+            keys[slot] = key;
+            ids[slot] = id;
+
+            if (names.size() * 2 > keys.length) {
+                rehash();
+            }
+            return id;
+        }
+
+        int size() {
+            return names.size();
+        }
+
+        String name(int id) {
+            return names.get(id);
+        }
+
+        private void rehash() {
+            byte[][] oldKeys = keys;
+            int[] oldIds = ids;
+            keys = new byte[oldKeys.length * 2][];
+            ids = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int s = 0; s < oldKeys.length; s++) {
+                if (oldKeys[s] != null) {
+                    int slot = mix(Arrays.hashCode(oldKeys[s])) & mask;
+                    while (keys[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[s];
+                    ids[slot] = oldIds[s];
+                }
+            }
+        }
+
+        private static int mix(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        private static boolean matches(byte[] key, ByteBuffer buffer, int start, int length) {
+            if (key.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (key[i] != buffer.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static int indexOfComma(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == ',') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        return trimStart(buffer, start, end) == end;
+    }
+
+    private static int trimStart(ByteBuffer buffer, int start, int end) {
+        while (start < end && isSpace(buffer.get(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(ByteBuffer buffer, int start, int end) {
+        while (end > start && isSpace(buffer.get(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+}
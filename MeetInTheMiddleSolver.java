@@ -0,0 +1,162 @@
+// MeetInTheMiddleSolver.java in com.portfolio.algorithm
+package com.portfolio.algorithm;
+
+import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.InvestmentUniverse;
+import com.portfolio.model.Portfolio;
+
+import java.util.List;
+
+public class MeetInTheMiddleSolver {
+
+    // Subsets of each half are tracked as bit masks in a long
+    private static final int MAX_INVESTMENTS = 62;
+
+    // Slack used when comparing floating point risk sums against the tolerance
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Solves the 0/1 Knapsack problem exactly on unscaled risk values by meet in the middle.
+     * The investments are split into two halves; each half's subset sums are enumerated with
+     * dominated (risk, return) pairs pruned, which leaves both lists sorted by risk with strictly
+     * increasing return. A two-pointer sweep then pairs every subset of the first half with the
+     * best affordable subset of the second. Runs in O(2^(n/2)) time and memory, so it suits
+     * roughly 40-60 investments whose risks need more precision than the DP scale factor.
+     *
+     * @param investments List of available investment options (at most 62)
+     * @param riskTolerance Maximum risk tolerance
+     * @return Optimized portfolio
+     */
+    public static Portfolio solve(List<InvestmentOption> investments, double riskTolerance) {
+        return solve(InvestmentUniverse.of(investments), riskTolerance);
+    }
+
+    /**
+     * Same as solve(List, double) over a struct-of-arrays universe
+     *
+     * @param universe Available investments (at most 62)
+     * @param riskTolerance Maximum risk tolerance
+     * @return Optimized portfolio
+     */
+    public static Portfolio solve(InvestmentUniverse universe, double riskTolerance) {
+        int n = universe.size();
+        if (n > MAX_INVESTMENTS) {
+            throw new IllegalArgumentException("Meet in the middle supports at most "
+                    + MAX_INVESTMENTS + " investments, got " + n);
+        }
+
+        double[] returns = new double[n];
+        double[] risks = new double[n];
+        for (int i = 0; i < n; i++) {
+            returns[i] = universe.getExpectedReturn(i);
+            risks[i] = universe.getRiskFactor(i);
+        }
+
+        int half = n / 2;
+        SubsetFrontier first = SubsetFrontier.enumerate(returns, risks, 0, half, riskTolerance);
+        SubsetFrontier second = SubsetFrontier.enumerate(returns, risks, half, n, riskTolerance);
+
+        // First half ascending by risk means the affordable part of the second half only shrinks
+        double bestReturn = 0;
+        long bestFirstMask = 0;
+        long bestSecondMask = 0;
+        int j = second.size - 1;
+
+        for (int i = 0; i < first.size && j >= 0; i++) {
+            double room = riskTolerance - first.risks[i];
+            while (j >= 0 && second.risks[j] > room + EPSILON) {
+                j--;
+            }
+            if (j >= 0 && first.returns[i] + second.returns[j] > bestReturn) {
+                bestReturn = first.returns[i] + second.returns[j];
+                bestFirstMask = first.masks[i];
+                bestSecondMask = second.masks[j];
+            }
+        }
+
+        Portfolio portfolio = new Portfolio();
+        for (int i = 0; i < half; i++) {
+            if ((bestFirstMask & (1L << i)) != 0) {
+                portfolio.addInvestment(universe.getInvestment(i));
+            }
+        }
+        for (int i = half; i < n; i++) {
+            if ((bestSecondMask & (1L << (i - half))) != 0) {
+                portfolio.addInvestment(universe.getInvestment(i));
+            }
+        }
+
+        return portfolio;
+    }
+
+    /**
+     * Non-dominated subsets of a range of investments, sorted by ascending risk with strictly
+     * increasing return. Bit k of a mask refers to investment (from + k).
+     */
+    private static final class SubsetFrontier {
+        private final double[] risks;
+        private final double[] returns;
+        private final long[] masks;
+        private int size;
+
+        private SubsetFrontier(int capacity) {
+            this.risks = new double[capacity];
+            this.returns = new double[capacity];
+            this.masks = new long[capacity];
+        }
+
+        /**
+         * Builds the frontier of investments [from, to) by adding one investment at a time and
+         * merging the current list with its shifted copy, pruning dominated and unaffordable subsets
+         */
+        static SubsetFrontier enumerate(double[] returns, double[] risks, int from, int to, double riskTolerance) {
+            SubsetFrontier current = new SubsetFrontier(1);
+            current.size = 1; // the empty subset
+
+            for (int item = from; item < to; item++) {
+                long bit = 1L << (item - from);
+                double itemRisk = risks[item];
+                double itemReturn = returns[item];
+                SubsetFrontier next = new SubsetFrontier(current.size * 2);
+
+                int a = 0;
+                int b = 0;
+                while (a < current.size || b < current.size) {
+                    double riskB = b < current.size ? current.risks[b] + itemRisk : Double.POSITIVE_INFINITY;
+                    if (riskB > riskTolerance + EPSILON) {
+                        b = current.size; // shifted entries are sorted too, so none of the rest fit
+                        riskB = Double.POSITIVE_INFINITY;
+                        if (a >= current.size) {
+                            break;
+                        }
+                    }
+
+                    if (a < current.size && current.risks[a] <= riskB) {
+                        next.offer(current.risks[a], current.returns[a], current.masks[a]);
+                        a++;
+                    } else {
+                        next.offer(riskB, current.returns[b] + itemReturn, current.masks[b] | bit);
+                        b++;
+                    }
+                }
+
+                current = next;
+            }
+
+            return current;
+        }
+
+        /**
+         * Appends a subset offered in ascending risk order unless an earlier one dominates it
+         */
+        private void offer(double risk, double totalReturn, long mask) {
+            if (size > 0 && totalReturn <= returns[size - 1]) {
+                return;
+            }
+            risks[size] = risk;
+            returns[size] = totalReturn;
+            masks[size] = mask;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,399 @@
+// OptimizationServer.java in com.portfolio.main
+package com.portfolio.main;
+
+import com.portfolio.algorithm.DiversifiedKnapsackSolver;
+import com.portfolio.algorithm.GreedySolver;
+import com.portfolio.algorithm.KnapsackSolver;
+import com.portfolio.algorithm.ParetoFrontierSolver;
+import com.portfolio.algorithm.SolverCache;
+import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.InvestmentUniverse;
+import com.portfolio.model.Portfolio;
+import com.portfolio.util.Json;
+import com.portfolio.util.LatencyHistogram;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+public class OptimizationServer {
+
+    public static final int DEFAULT_PORT = 8080;
+
+    // Solvers reachable through the "solver" field of a request
+    private static final String[] SOLVERS = {"dp", "greedy-return", "greedy-ratio", "diversified", "pareto"};
+    private static final double DEFAULT_MAX_SECTOR_ALLOCATION = 0.3;
+
+    // Request limits, so that no single request can exhaust the heap or hold a solve slot indefinitely
+    private static final int MAX_BODY_BYTES = 4 << 20;
+    private static final long MAX_DRAINED_BYTES = 64L << 20;      // oversized body still read and discarded
+    private static final int MAX_INVESTMENTS = 10_000;
+    private static final long MAX_DP_CELLS = 1L << 24;             // "dp" keeps an n x W table of doubles
+    private static final int MAX_DIVERSIFIED_INVESTMENTS = 32;     // branch and bound is exponential in the worst case
+    private static final long MAX_PARETO_STATES = 1L << 24;        // the frontier can grow exponentially too
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    // Requests admitted but not yet answered, and solves running at the same time
+    private final Semaphore admitted;
+    private final Semaphore solving;
+
+    // Requests that share a key while one of them is being solved wait for the same future
+    private final Map<RequestKey, CompletableFuture<Portfolio>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Creates a server on localhost. Every exchange is handled on its own virtual thread; at most
+     * maxConcurrentSolves solves run at once and up to queueCapacity further requests wait for a
+     * slot, beyond which requests are turned away with 503 so that load cannot pile up unbounded.
+     *
+     * @param port Port to listen on, 0 for any free port
+     * @param maxConcurrentSolves Number of solves that may run at the same time
+     * @param queueCapacity Number of admitted requests that may wait for a solve slot
+     * @throws IOException If the port cannot be bound
+     */
+    public OptimizationServer(int port, int maxConcurrentSolves, int queueCapacity) throws IOException {
+        if (maxConcurrentSolves <= 0 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Need at least one solve slot and a non-negative queue");
+        }
+        this.admitted = new Semaphore(maxConcurrentSolves + queueCapacity);
+        this.solving = new Semaphore(maxConcurrentSolves);
+        for (String solver : SOLVERS) {
+            latencies.put(solver, new LatencyHistogram());
+        }
+
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.setExecutor(executor);
+        server.createContext("/optimize", this::handleOptimize);
+        server.createContext("/stats", this::handleStats);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int processors = Runtime.getRuntime().availableProcessors();
+        OptimizationServer server = new OptimizationServer(port, processors, processors * 16);
+        server.start();
+        System.out.println("Optimization service listening on http://localhost:" + server.getPort()
+                + " (POST /optimize, GET /stats)");
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * POST /optimize with a body like
+     * {"solver": "dp", "riskTolerance": 50, "maxSectorAllocation": 0.3,
+     *  "investments": [{"name": "A", "expectedReturn": 10, "riskFactor": 5, "sector": "Tech"}]}
+     * answers with the portfolio as JSON. Requests beyond the body, investment count or DP table
+     * limits are answered with 400 before anything is solved, and "pareto" requests whose
+     * frontier outgrows its state limit with 400 once it does. Investments carry a single risk
+     * factor; none of the solvers exposed here handles several risk dimensions.
+     */
+    private void handleOptimize(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, error("Use POST"));
+                return;
+            }
+            if (!admitted.tryAcquire()) {
+                rejected.increment();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 503, error("Too many requests in flight"));
+                return;
+            }
+
+            long start = System.nanoTime();
+            try {
+                OptimizationRequest request = OptimizationRequest.parse(readBody(exchange));
+                Portfolio portfolio = solveCoalesced(request);
+                latencies.get(request.solver).record(System.nanoTime() - start);
+                send(exchange, 200, toJson(portfolio));
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, error(e.getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                send(exchange, 503, error("Interrupted while waiting for a solve slot"));
+            } catch (RuntimeException e) {
+                send(exchange, 500, error(String.valueOf(e.getMessage())));
+            } finally {
+                admitted.release();
+            }
+        }
+    }
+
+    /**
+     * GET /stats reports latency percentiles per solver and the coalescing and rejection counts
+     */
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            StringBuilder sb = new StringBuilder("{\"solvers\":{");
+            for (int s = 0; s < SOLVERS.length; s++) {
+                LatencyHistogram histogram = latencies.get(SOLVERS[s]);
+                if (s > 0) {
+                    sb.append(',');
+                }
+                sb.append(Json.quote(SOLVERS[s])).append(':')
+                        .append(String.format(Locale.ROOT,
+                                "{\"count\":%d,\"meanMs\":%.3f,\"p50Ms\":%.3f,\"p90Ms\":%.3f,\"p99Ms\":%.3f,\"p999Ms\":%.3f}",
+                                histogram.getCount(), histogram.getMeanNanos() / 1e6,
+                                histogram.percentileNanos(0.50) / 1e6, histogram.percentileNanos(0.90) / 1e6,
+                                histogram.percentileNanos(0.99) / 1e6, histogram.percentileNanos(0.999) / 1e6));
+            }
+            sb.append("},\"coalesced\":").append(coalesced.sum())
+                    .append(",\"rejected\":").append(rejected.sum())
+                    .append(",\"inFlight\":").append(inFlight.size())
+                    .append('}');
+            send(exchange, 200, sb.toString());
+        }
+    }
+
+    /**
+     * Solves the request, or waits for an identical request that is already being solved
+     */
+    private Portfolio solveCoalesced(OptimizationRequest request) throws InterruptedException {
+        RequestKey key = request.key();
+        CompletableFuture<Portfolio> mine = new CompletableFuture<>();
+        CompletableFuture<Portfolio> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        try {
+            solving.acquire();
+            try {
+                Portfolio portfolio = request.solve();
+                mine.complete(portfolio);
+                return portfolio;
+            } finally {
+                solving.release();
+            }
+        } catch (RuntimeException | InterruptedException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                // Discard what is left, up to a bound, so closing with unread input does not reset
+                // the connection before the client has read the 400. skip() gives up after whatever
+                // is buffered, so read until the end instead.
+                byte[] discard = new byte[8192];
+                long drained = 0;
+                for (int n; drained < MAX_DRAINED_BYTES && (n = in.read(discard)) >= 0; ) {
+                    drained += n;
+                }
+                throw new IllegalArgumentException("Request body exceeds " + MAX_BODY_BYTES + " bytes");
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + Json.quote(message) + "}";
+    }
+
+    private static String toJson(Portfolio portfolio) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "{\"totalReturn\":%s,\"totalRisk\":%s,\"investments\":[",
+                portfolio.getTotalReturn(), portfolio.getTotalRisk()));
+        List<InvestmentOption> selected = portfolio.getSelectedInvestments();
+        for (int i = 0; i < selected.size(); i++) {
+            InvestmentOption investment = selected.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"name\":").append(Json.quote(investment.getName()))
+                    .append(",\"expectedReturn\":").append(investment.getExpectedReturn())
+                    .append(",\"riskFactor\":").append(investment.getRiskFactor())
+                    .append(",\"sector\":").append(Json.quote(investment.getSector()))
+                    .append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    /**
+     * Validated body of a POST /optimize request
+     */
+    private static final class OptimizationRequest {
+        private final String solver;
+        private final double riskTolerance;
+        private final double maxSectorAllocation;
+        private final List<InvestmentOption> investments;
+
+        private OptimizationRequest(String solver, double riskTolerance, double maxSectorAllocation,
+                                    List<InvestmentOption> investments) {
+            this.solver = solver;
+            this.riskTolerance = riskTolerance;
+            this.maxSectorAllocation = maxSectorAllocation;
+            this.investments = investments;
+        }
+
+        static OptimizationRequest parse(String body) {
+            if (!(Json.parse(body) instanceof Map<?, ?> json)) {
+                throw new IllegalArgumentException("Request body must be a JSON object");
+            }
+
+            String solver = json.containsKey("solver") ? stringField(json, "solver") : "dp";
+            if (!List.of(SOLVERS).contains(solver)) {
+                throw new IllegalArgumentException("Unknown solver '" + solver + "', expected one of " + List.of(SOLVERS));
+            }
+            double riskTolerance = numberField(json, "riskTolerance");
+            if (riskTolerance < 0 || Double.isInfinite(riskTolerance)) {
+                throw new IllegalArgumentException("riskTolerance must be a finite, non-negative number");
+            }
+            double maxSectorAllocation = json.containsKey("maxSectorAllocation")
+                    ? numberField(json, "maxSectorAllocation") : DEFAULT_MAX_SECTOR_ALLOCATION;
+
+            if (!(json.get("investments") instanceof List<?> items)) {
+                throw new IllegalArgumentException("'investments' must be an array");
+            }
+            if (items.size() > MAX_INVESTMENTS) {
+                throw new IllegalArgumentException("At most " + MAX_INVESTMENTS + " investments per request");
+            }
+            if (solver.equals("diversified") && items.size() > MAX_DIVERSIFIED_INVESTMENTS) {
+                throw new IllegalArgumentException("The diversified solver accepts at most "
+                        + MAX_DIVERSIFIED_INVESTMENTS + " investments per request");
+            }
+            double cells = (Math.floor(riskTolerance * InvestmentUniverse.DEFAULT_SCALE_FACTOR) + 1) * items.size();
+            if (solver.equals("dp") && cells > MAX_DP_CELLS) {
+                throw new IllegalArgumentException("riskTolerance " + riskTolerance + " with " + items.size()
+                        + " investments needs more than " + MAX_DP_CELLS + " DP cells; use a smaller tolerance or"
+                        + " the pareto solver");
+            }
+            List<InvestmentOption> investments = new ArrayList<>(items.size());
+            for (Object item : items) {
+                if (!(item instanceof Map<?, ?> fields)) {
+                    throw new IllegalArgumentException("Each investment must be a JSON object");
+                }
+                investments.add(new InvestmentOption(stringField(fields, "name"), numberField(fields, "expectedReturn"),
+                        numberField(fields, "riskFactor"), stringField(fields, "sector")));
+            }
+
+            return new OptimizationRequest(solver, riskTolerance, maxSectorAllocation, investments);
+        }
+
+        RequestKey key() {
+            double parameter = solver.equals("diversified") ? maxSectorAllocation : 0;
+            return new RequestKey(SolverCache.fingerprint(investments), investments, solver, riskTolerance, parameter);
+        }
+
+        Portfolio solve() {
+            InvestmentUniverse universe = InvestmentUniverse.of(investments);
+            switch (solver) {
+                case "greedy-return":
+                    return GreedySolver.solveHighestReturnFirst(universe, riskTolerance);
+                case "greedy-ratio":
+                    return GreedySolver.solveBestRatioFirst(universe, riskTolerance);
+                case "diversified":
+                    return DiversifiedKnapsackSolver.solveWithSectorConstraints(universe, riskTolerance, maxSectorAllocation);
+                case "pareto":
+                    return ParetoFrontierSolver.solve(universe, riskTolerance, MAX_PARETO_STATES);
+                default:
+                    return KnapsackSolver.solveWithDP(universe, riskTolerance);
+            }
+        }
+
+        private static String stringField(Map<?, ?> json, String name) {
+            if (!(json.get(name) instanceof String value)) {
+                throw new IllegalArgumentException("'" + name + "' must be a string");
+            }
+            return value;
+        }
+
+        private static double numberField(Map<?, ?> json, String name) {
+            if (!(json.get(name) instanceof Double value)) {
+                throw new IllegalArgumentException("'" + name + "' must be a number");
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Identity of a request for coalescing. The fingerprint only selects the hash bucket; keys
+     * with equal fingerprints also compare their investments, so a collision never hands one
+     * caller the portfolio of another universe.
+     */
+    private static final class RequestKey {
+        private final long fingerprint;
+        private final List<InvestmentOption> investments;
+        private final String solver;
+        private final double riskTolerance;
+        private final double parameter;
+
+        RequestKey(long fingerprint, List<InvestmentOption> investments, String solver, double riskTolerance,
+                   double parameter) {
+            this.fingerprint = fingerprint;
+            this.investments = investments;
+            this.solver = solver;
+            this.riskTolerance = riskTolerance;
+            this.parameter = parameter;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RequestKey)) return false;
+            RequestKey other = (RequestKey) o;
+            return fingerprint == other.fingerprint
+                    && solver.equals(other.solver)
+                    && Double.compare(riskTolerance, other.riskTolerance) == 0
+                    && Double.compare(parameter, other.parameter) == 0
+                    && SolverCache.sameInvestments(investments, other.investments);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fingerprint, solver, riskTolerance, parameter);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+// ParetoFrontierSolver.java in com.portfolio.algorithm
+package com.portfolio.algorithm;
+
+import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.InvestmentUniverse;
+import com.portfolio.model.Portfolio;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class ParetoFrontierSolver {
+
+    // Slack used when comparing floating point risk sums against the tolerance
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Solves the 0/1 Knapsack problem exactly on unscaled risk values with Nemhauser-Ullmann
+     * sparse dynamic programming. After each investment only the non-dominated (risk, return)
+     * states are kept, sorted by ascending risk with strictly increasing return, and the next
+     * stage is a linear-time merge of that list with its copy shifted by the investment.
+     * Runtime tracks the size of the frontier rather than the scaled risk tolerance, and risks
+     * are never truncated.
+     *
+     * The frontier can grow exponentially, e.g. when return is proportional to risk, and every
+     * state is retained for reconstruction; callers facing untrusted input should use
+     * solve(InvestmentUniverse, double, long).
+     *
+     * @param investments List of available investment options
+     * @param riskTolerance Maximum risk tolerance
+     * @return Optimized portfolio
+     */
+    public static Portfolio solve(List<InvestmentOption> investments, double riskTolerance) {
+        return solve(InvestmentUniverse.of(investments), riskTolerance);
+    }
+
+    /**
+     * Same as solve(List, double) over a struct-of-arrays universe
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance
+     * @return Optimized portfolio
+     */
+    public static Portfolio solve(InvestmentUniverse universe, double riskTolerance) {
+        return solve(universe, riskTolerance, Long.MAX_VALUE);
+    }
+
+    /**
+     * Same as solve(InvestmentUniverse, double), giving up once the frontiers of all stages hold
+     * more than maxStates states in total. Memory is about 4 bytes per retained state plus 16 per
+     * state of the widest frontier.
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance
+     * @param maxStates Most states retained across all stages
+     * @return Optimized portfolio
+     * @throws IllegalArgumentException If the frontiers grow beyond maxStates
+     */
+    public static Portfolio solve(InvestmentUniverse universe, double riskTolerance, long maxStates) {
+        int n = universe.size();
+        long retained = 0;
+
+        // Current frontier, starting from the empty selection
+        double[] risks = new double[16];
+        double[] returns = new double[16];
+        int size = 1;
+
+        double[] nextRisks = new double[16];
+        double[] nextReturns = new double[16];
+        int[] nextLinks = new int[16];
+
+        // links[i][k] = (index of the parent state at stage i - 1) << 1 | (1 if investment i was taken)
+        int[][] links = new int[n][];
+
+        for (int i = 0; i < n; i++) {
+            double itemRisk = universe.getRiskFactor(i);
+            double itemReturn = universe.getExpectedReturn(i);
+
+            if (nextRisks.length < size * 2) {
+                nextRisks = new double[size * 2];
+                nextReturns = new double[size * 2];
+                nextLinks = new int[size * 2];
+            }
+
+            // Shifted states are sorted too, so only a prefix of them fits the tolerance
+            int shiftedSize = 0;
+            while (shiftedSize < size && risks[shiftedSize] + itemRisk <= riskTolerance + EPSILON) {
+                shiftedSize++;
+            }
+
+            int count = 0;
+            int a = 0;
+            int b = 0;
+            while (a < size || b < shiftedSize) {
+                double risk;
+                double totalReturn;
+                int link;
+                if (b >= shiftedSize || (a < size && risks[a] <= risks[b] + itemRisk)) {
+                    risk = risks[a];
+                    totalReturn = returns[a];
+                    link = a << 1;
+                    a++;
+                } else {
+                    risk = risks[b] + itemRisk;
+                    totalReturn = returns[b] + itemReturn;
+                    link = (b << 1) | 1;
+                    b++;
+                }
+
+                // Keep the state only if it beats every cheaper one; an equal-risk state it beats is replaced
+                if (count > 0 && totalReturn <= nextReturns[count - 1]) {
+                    continue;
+                }
+                if (count > 0 && risk == nextRisks[count - 1]) {
+                    count--;
+                }
+                nextRisks[count] = risk;
+                nextReturns[count] = totalReturn;
+                nextLinks[count] = link;
+                count++;
+            }
+
+            retained += count;
+            if (retained > maxStates) {
+                throw new IllegalArgumentException("Pareto frontier exceeds " + maxStates + " states after "
+                        + (i + 1) + " of " + n + " investments");
+            }
+            links[i] = Arrays.copyOf(nextLinks, count);
+
+            double[] swapRisks = risks;
+            double[] swapReturns = returns;
+            risks = nextRisks;
+            returns = nextReturns;
+            nextRisks = swapRisks;
+            nextReturns = swapReturns;
+            size = count;
+        }
+
+        // The last state has the highest return within the tolerance; walk its links back
+        Portfolio portfolio = new Portfolio();
+        int state = size - 1;
+
+        for (int i = n - 1; i >= 0; i--) {
+            int link = links[i][state];
+            if ((link & 1) != 0) {
+                portfolio.addInvestment(universe.getInvestment(i));
+            }
+            state = link >>> 1;
+        }
+
+        return portfolio;
+    }
+}
@@ -2,6 +2,7 @@
 package com.portfolio.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -11,6 +12,7 @@ public class Portfolio {
     private double totalRisk;
     private double totalReturn;
     private Map<String, Double> sectorAllocation;
+    private double[] extraRisks;   // risk dimensions after the first; null until an investment has more than one
 
     public Portfolio() {
         this.selectedInvestments = new ArrayList<>();
@@ -27,7 +29,19 @@ public class Portfolio {
         // Update sector allocation
         String sector = investment.getSector();
         sectorAllocation.put(sector, sectorAllocation.getOrDefault(sector, 0.0) + investment.getRiskFactor());
-    
+
+        // Update the totals of any further risk dimensions; the first one is totalRisk
+        int dimensions = investment.getRiskDimensions();
+        if (dimensions > 1) {
+            if (extraRisks == null) {
+                extraRisks = new double[dimensions - 1];
+            } else if (dimensions - 1 > extraRisks.length) {
+                extraRisks = Arrays.copyOf(extraRisks, dimensions - 1);
+            }
+            for (int d = 1; d < dimensions; d++) {
+                extraRisks[d - 1] += investment.getRiskFactor(d);
+            }
+        }
     }
 
     // Getters
@@ -39,6 +53,21 @@ public class Portfolio {
         return totalRisk;
     }
 
+    /**
+     * @param dimension Risk dimension index
+     * @return Summed risk of the selected investments in that dimension
+     */
+    public double getTotalRisk(int dimension) {
+        if (dimension == 0) {
+            return totalRisk;
+        }
+        return extraRisks != null && dimension <= extraRisks.length ? extraRisks[dimension - 1] : 0;
+    }
+
+    public int getRiskDimensions() {
+        return extraRisks == null ? 1 : extraRisks.length + 1;
+    }
+
     public double getTotalReturn() {
         return totalReturn;
     }
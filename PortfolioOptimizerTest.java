@@ -1,15 +1,56 @@
 // PortfolioOptimizerTest.java in test directory
 package com.portfolio.test;
 
+import com.portfolio.algorithm.AnytimeResult;
+import com.portfolio.algorithm.AnytimeSolver;
+import com.portfolio.algorithm.BatchOptimizer;
+import com.portfolio.algorithm.CoreKnapsackSolver;
+import com.portfolio.algorithm.DiversifiedKnapsackSolver;
+import com.portfolio.algorithm.EfficientFrontier;
 import com.portfolio.algorithm.GreedySolver;
+import com.portfolio.algorithm.IncrementalKnapsackSession;
 import com.portfolio.algorithm.KnapsackSolver;
+import com.portfolio.algorithm.MeetInTheMiddleSolver;
+import com.portfolio.algorithm.ParetoFrontierSolver;
+import com.portfolio.algorithm.RiskGrid;
+import com.portfolio.algorithm.SectorFrontierSolver;
+import com.portfolio.algorithm.SolverCache;
+import com.portfolio.algorithm.SolverEvents;
+import com.portfolio.algorithm.VectorKnapsackSolver;
+import com.portfolio.main.OptimizationServer;
+import com.portfolio.model.ClientRequest;
+import com.portfolio.model.ClientResult;
+import com.portfolio.model.CompactPortfolio;
 import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.InvestmentUniverse;
 import com.portfolio.model.Portfolio;
+import com.portfolio.util.CsvLoadReport;
+import com.portfolio.util.Json;
+import com.portfolio.util.MappedCsvLoader;
+import com.portfolio.util.SampleDataGenerator;
+import com.portfolio.util.SolverMetrics;
+import com.portfolio.util.SolverMetricsMXBean;
+import com.portfolio.util.UniverseSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -58,4 +99,715 @@ public class PortfolioOptimizerTest {
 
         assertTrue(optimalPortfolio.getTotalReturn() >= greedyPortfolio.getTotalReturn());
     }
+
+    @Test
+    void testCompactKnapsackSolverMatchesDP() {
+        Portfolio expected = KnapsackSolver.solveWithDP(testInvestments, riskTolerance);
+        Portfolio compact = KnapsackSolver.solveWithCompactDP(testInvestments, riskTolerance);
+
+        assertEquals(expected.getTotalReturn(), compact.getTotalReturn(), 0.01);
+        assertEquals(expected.getSelectedInvestments(), compact.getSelectedInvestments());
+    }
+
+    @Test
+    void testLinearMemoryKnapsackSolverMatchesDP() {
+        Portfolio expected = KnapsackSolver.solveWithDP(testInvestments, riskTolerance);
+        Portfolio linear = KnapsackSolver.solveWithLinearMemoryDP(testInvestments, riskTolerance);
+
+        assertEquals(expected.getTotalReturn(), linear.getTotalReturn(), 0.01);
+        assertTrue(linear.getTotalRisk() <= riskTolerance);
+    }
+
+    @Test
+    void testLinearMemoryKnapsackSolverMatchesDPAboveBaseCaseSize() {
+        // 60 investments x 8,001 risk units is well above the 65,536-cell base case, so the
+        // divide-and-conquer split runs several levels deep
+        Random random = new Random(11);
+        List<InvestmentOption> investments = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            investments.add(new InvestmentOption("Inv" + i, 1 + random.nextInt(2000) / 100.0,
+                    1 + random.nextInt(1000) / 100.0, "Sector" + (i % 4)));
+        }
+        double tolerance = 80;
+
+        Portfolio expected = KnapsackSolver.solveWithDP(investments, tolerance);
+        Portfolio linear = KnapsackSolver.solveWithLinearMemoryDP(investments, tolerance);
+
+        assertEquals(expected.getTotalReturn(), linear.getTotalReturn(), 0.01);
+        assertEquals(expected.getTotalRisk(), linear.getTotalRisk(), 0.01);
+        assertTrue(linear.getTotalRisk() <= tolerance + 1e-9);
+    }
+
+    @Test
+    void testDiversifiedSolverRespectsSectorCaps() {
+        double maxSectorAllocation = 0.6;
+        Portfolio portfolio = DiversifiedKnapsackSolver.solveWithSectorConstraints(
+                testInvestments, riskTolerance, maxSectorAllocation);
+
+        // Optimal under the caps is B + C (15 + 20) with Sector2/Sector3 at 40%/60% of risk
+        assertEquals(35.0, portfolio.getTotalReturn(), 0.01);
+        assertTrue(portfolio.getTotalRisk() <= riskTolerance);
+        for (double sectorRisk : portfolio.getSectorAllocation().values()) {
+            assertTrue(sectorRisk <= maxSectorAllocation * portfolio.getTotalRisk() + 1e-9);
+        }
+    }
+
+    @Test
+    void testExhaustiveSearchMatchesBranchAndBound() {
+        Portfolio exhaustive = DiversifiedKnapsackSolver.solveWithExhaustiveSearch(testInvestments, riskTolerance, 0.6);
+        Portfolio branchAndBound = DiversifiedKnapsackSolver.solveWithBranchAndBound(testInvestments, riskTolerance, 0.6);
+
+        assertEquals(branchAndBound.getTotalReturn(), exhaustive.getTotalReturn(), 0.01);
+    }
+
+    @Test
+    void testDiversifiedSolverStaysExactWhenReturnTracksRisk() {
+        // Near-equal return/risk ratios leave the fractional bound almost nothing to prune
+        Random random = new Random(1);
+        List<InvestmentOption> investments = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            double risk = Math.round((1 + random.nextDouble() * 9) * 100) / 100.0;
+            double expectedReturn = Math.round((1.5 * risk + random.nextDouble() * 0.02) * 100) / 100.0;
+            investments.add(new InvestmentOption("Inv" + i, expectedReturn, risk, "Sector" + random.nextInt(4)));
+        }
+
+        Portfolio portfolio = assertTimeoutPreemptively(Duration.ofSeconds(20),
+                () -> DiversifiedKnapsackSolver.solveWithSectorConstraints(investments, 50.0, 0.5));
+        Portfolio frontier = SectorFrontierSolver.solve(investments, 50.0, 0.5);
+
+        assertEquals(frontier.getTotalReturn(), portfolio.getTotalReturn(), 1e-6);
+        assertTrue(portfolio.getTotalRisk() <= 50.0 + 1e-9);
+        for (double sectorRisk : portfolio.getSectorAllocation().values()) {
+            assertTrue(sectorRisk <= 0.5 * portfolio.getTotalRisk() + 1e-9);
+        }
+    }
+
+    @Test
+    void testParallelKnapsackSolverMatchesDP() {
+        // Wide enough that the rows are actually split across the pool
+        double wideTolerance = 400.0;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Portfolio expected = KnapsackSolver.solveWithDP(testInvestments, wideTolerance);
+            Portfolio parallel = KnapsackSolver.solveWithParallelDP(testInvestments, wideTolerance, pool, 1000);
+
+            assertEquals(expected.getSelectedInvestments(), parallel.getSelectedInvestments());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testMeetInTheMiddleSolver() {
+        Portfolio portfolio = MeetInTheMiddleSolver.solve(testInvestments, riskTolerance);
+        assertEquals(35.0, portfolio.getTotalReturn(), 0.01);
+        assertEquals(20.0, portfolio.getTotalRisk(), 0.01);
+    }
+
+    @Test
+    void testMeetInTheMiddleSolverMatchesBruteForceOnExactRisk() {
+        // Three-decimal risks truncate differently under x100 scaling, so only exact sums are reliable
+        Random random = new Random(4);
+        List<InvestmentOption> investments = new ArrayList<>();
+        for (int i = 0; i < 22; i++) {
+            investments.add(new InvestmentOption("Inv" + i, 1 + random.nextInt(2000) / 100.0,
+                    0.005 + random.nextInt(3000) / 1000.0, "Sector" + (i % 3)));
+        }
+        double tolerance = 6.789;
+
+        double bestReturn = 0;
+        for (int mask = 0; mask < 1 << investments.size(); mask++) {
+            double risk = 0;
+            double totalReturn = 0;
+            for (int i = 0; i < investments.size(); i++) {
+                if ((mask & (1 << i)) != 0) {
+                    risk += investments.get(i).getRiskFactor();
+                    totalReturn += investments.get(i).getExpectedReturn();
+                }
+            }
+            if (risk <= tolerance + 1e-9) {
+                bestReturn = Math.max(bestReturn, totalReturn);
+            }
+        }
+
+        Portfolio portfolio = MeetInTheMiddleSolver.solve(investments, tolerance);
+        assertEquals(bestReturn, portfolio.getTotalReturn(), 1e-6);
+        assertTrue(portfolio.getTotalRisk() <= tolerance + 1e-9);
+
+        // On this data the scaled DP picks a portfolio whose real risk is over the tolerance
+        assertTrue(KnapsackSolver.solveWithDP(investments, tolerance).getTotalRisk() > tolerance);
+    }
+
+    @Test
+    void testParetoFrontierSolverUsesExactRisk() {
+        Portfolio portfolio = ParetoFrontierSolver.solve(testInvestments, riskTolerance);
+        assertEquals(35.0, portfolio.getTotalReturn(), 0.01);
+
+        // 0.29 * 100 truncates to 28 in the DP table; the frontier solver must not exceed the real tolerance
+        List<InvestmentOption> fineGrained = new ArrayList<>();
+        fineGrained.add(new InvestmentOption("Fine A", 5.0, 0.29, "Sector1"));
+        fineGrained.add(new InvestmentOption("Fine B", 5.0, 0.29, "Sector2"));
+        Portfolio exact = ParetoFrontierSolver.solve(fineGrained, 0.57);
+        assertEquals(1, exact.getSelectedInvestments().size());
+        assertTrue(exact.getTotalRisk() <= 0.57);
+    }
+
+    @Test
+    void testRiskGridNormalization() {
+        // Whole-number risks 5, 8, 12, 15 share no divisor, so the grid is one unit per cell
+        RiskGrid grid = RiskGrid.normalize(testInvestments, riskTolerance);
+        assertEquals(0, grid.getDecimals());
+        assertEquals(21, grid.getTableWidth());
+
+        Portfolio portfolio = KnapsackSolver.solveWithNormalizedDP(testInvestments, riskTolerance);
+        assertEquals(35.0, portfolio.getTotalReturn(), 0.01);
+    }
+
+    @Test
+    void testRiskGridRejectsRisksItCannotRepresent() {
+        // Seven decimals would round to zero risk, so all three would be taken past the tolerance
+        List<InvestmentOption> tiny = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tiny.add(new InvestmentOption("Tiny " + i, 1.0, 4e-7, "Sector1"));
+        }
+        assertThrows(IllegalArgumentException.class, () -> KnapsackSolver.solveWithNormalizedDP(tiny, 1e-6));
+
+        // Unrounded doubles have no exact grid at all
+        List<InvestmentOption> unrounded = new ArrayList<>(testInvestments);
+        unrounded.add(new InvestmentOption("Third", 3.0, 1.0 / 3.0, "Sector1"));
+        assertThrows(IllegalArgumentException.class, () -> RiskGrid.normalize(unrounded, riskTolerance));
+
+        // Exact, but the table would be wider than the grid allows
+        List<InvestmentOption> fine = new ArrayList<>(testInvestments);
+        fine.add(new InvestmentOption("Fine", 1.0, 0.000001, "Sector1"));
+        assertThrows(IllegalArgumentException.class, () -> RiskGrid.normalize(fine, 100.0));
+        assertEquals(10_000_001, RiskGrid.normalize(fine, 10.0).getTableWidth());
+    }
+
+    @Test
+    void testEfficientFrontierMatchesDPAtEveryTolerance() {
+        EfficientFrontier frontier = KnapsackSolver.buildEfficientFrontier(testInvestments, 40.0);
+
+        for (double tolerance = 0; tolerance <= 40.0; tolerance += 2.5) {
+            Portfolio expected = KnapsackSolver.solveWithDP(testInvestments, tolerance);
+            assertEquals(expected.getTotalReturn(), frontier.bestReturn(tolerance), 0.01);
+            assertEquals(expected.getSelectedInvestments(), frontier.portfolioAt(tolerance).getSelectedInvestments());
+        }
+
+        assertEquals(frontier.getFrontierRisks().length, frontier.getFrontierReturns().length);
+        assertThrows(IllegalArgumentException.class, () -> frontier.bestReturn(41.0));
+    }
+
+    @Test
+    void testEfficientFrontierCoversTheToleranceItWasBuiltFor() {
+        // 0.29 * 100 truncates to 28, so the frontier's maximum reads 0.28
+        EfficientFrontier frontier = KnapsackSolver.buildEfficientFrontier(testInvestments, 0.29);
+
+        assertTrue(0.29 > frontier.getMaxRiskTolerance());
+        assertTrue(frontier.covers(0.29));
+        assertEquals(0.0, frontier.bestReturn(0.29), 0.01);
+        assertFalse(frontier.covers(0.3));
+    }
+
+    @Test
+    void testSolverCacheHitsAndInvalidation() {
+        SolverCache cache = new SolverCache(2);
+
+        Portfolio first = cache.solveWithDP(testInvestments, riskTolerance);
+        Portfolio second = cache.solveWithDP(new ArrayList<>(testInvestments), riskTolerance);
+        assertSame(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        // A changed universe has a different fingerprint
+        testInvestments.add(new InvestmentOption("Investment E", 5.0, 1.0, "Sector2"));
+        cache.solveWithDP(testInvestments, riskTolerance);
+        assertEquals(2, cache.getMisses());
+
+        cache.invalidate();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testSolverCacheSeparatesNamesWithCollidingHashCodes() {
+        // "Aa" and "BB" share a String.hashCode
+        List<InvestmentOption> first = List.of(new InvestmentOption("Aa", 10.0, 5.0, "Sector1"));
+        List<InvestmentOption> second = List.of(new InvestmentOption("BB", 10.0, 5.0, "Sector1"));
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertNotEquals(SolverCache.fingerprint(first), SolverCache.fingerprint(second));
+
+        SolverCache cache = new SolverCache(4);
+        cache.solveWithDP(first, riskTolerance);
+        Portfolio portfolio = cache.solveWithDP(second, riskTolerance);
+        assertEquals(0, cache.getHits());
+        assertEquals("BB", portfolio.getSelectedInvestments().get(0).getName());
+    }
+
+    @Test
+    void testIncrementalSessionTracksEdits() {
+        IncrementalKnapsackSession session = new IncrementalKnapsackSession(testInvestments, riskTolerance);
+        assertEquals(35.0, session.getBestReturn(), 0.01);
+
+        InvestmentOption added = new InvestmentOption("Investment E", 30.0, 10.0, "Sector2");
+        session.addInvestment(added);
+        testInvestments.add(added);
+        assertEquals(KnapsackSolver.solveWithDP(testInvestments, riskTolerance).getTotalReturn(),
+                session.getBestReturn(), 0.01);
+
+        // Remove an investment from the middle of the universe
+        InvestmentOption removed = testInvestments.remove(1);
+        assertTrue(session.removeInvestment(removed));
+        assertEquals(KnapsackSolver.solveWithDP(testInvestments, riskTolerance).getTotalReturn(),
+                session.getPortfolio().getTotalReturn(), 0.01);
+    }
+
+    @Test
+    void testIncrementalSessionRemovesOldestInvestments() {
+        Random random = new Random(3);
+        List<InvestmentOption> investments = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            investments.add(new InvestmentOption("I" + i, 1 + random.nextInt(50),
+                    (1 + random.nextInt(1000)) / 100.0, "Sector" + (i % 3)));
+        }
+        IncrementalKnapsackSession session = new IncrementalKnapsackSession(investments, riskTolerance);
+
+        // Oldest first, as when a rolling window of investments expires, with additions in between
+        for (int k = 0; k < 30; k++) {
+            assertTrue(session.removeInvestment(investments.remove(0)));
+            if (k % 3 == 0) {
+                InvestmentOption added = new InvestmentOption("New" + k, 1 + random.nextInt(50),
+                        (1 + random.nextInt(1000)) / 100.0, "Sector1");
+                investments.add(added);
+                session.addInvestment(added);
+            }
+            assertEquals(KnapsackSolver.solveWithDP(investments, riskTolerance).getTotalReturn(),
+                    session.getPortfolio().getTotalReturn(), 0.01);
+        }
+        assertEquals(investments, session.getInvestments());
+    }
+
+    @Test
+    void testInvestmentUniverseMatchesListSolvers() {
+        InvestmentUniverse universe = InvestmentUniverse.of(testInvestments);
+        assertEquals(testInvestments.size(), universe.size());
+        assertEquals(3, universe.getSectorCount());
+        assertSame(testInvestments.get(0), universe.getInvestment(0));
+
+        assertEquals(KnapsackSolver.solveWithDP(testInvestments, riskTolerance).getTotalReturn(),
+                KnapsackSolver.solveWithDP(universe, riskTolerance).getTotalReturn(), 0.01);
+        assertEquals(GreedySolver.solveBestRatioFirst(testInvestments, riskTolerance).getTotalReturn(),
+                GreedySolver.solveBestRatioFirst(universe, riskTolerance).getTotalReturn(), 0.01);
+        assertEquals(35.0, DiversifiedKnapsackSolver.solveWithSectorConstraints(universe, riskTolerance, 0.6)
+                .getTotalReturn(), 0.01);
+
+        // Columns built by a loader give the same answer as the list they describe
+        InvestmentUniverse columns = InvestmentUniverse.fromColumns(
+                new String[]{"A", "B"}, new double[]{10.0, 20.0}, new double[]{5.0, 10.0},
+                new int[]{0, 0}, new String[]{"Sector1"}, InvestmentUniverse.DEFAULT_SCALE_FACTOR);
+        assertEquals(30.0, KnapsackSolver.solveWithDP(columns, 15.0).getTotalReturn(), 0.01);
+        assertThrows(IllegalArgumentException.class, () -> InvestmentUniverse.fromColumns(
+                new String[]{"A"}, new double[]{1.0}, new double[]{1.0},
+                new int[]{1}, new String[]{"Sector1"}, InvestmentUniverse.DEFAULT_SCALE_FACTOR));
+    }
+
+    @Test
+    void testCompactPortfolioTracksTotals() {
+        InvestmentUniverse universe = InvestmentUniverse.of(testInvestments);
+        CompactPortfolio compact = new CompactPortfolio(universe);
+
+        assertTrue(compact.add(0));
+        assertTrue(compact.add(3));
+        assertFalse(compact.add(3));
+        assertEquals(2, compact.size());
+        assertEquals(35.0, compact.getTotalReturn(), 0.01);
+        assertEquals(20.0, compact.getTotalRisk(), 0.01);
+        assertEquals(20.0, compact.getSectorRisk(universe.getSectorId(0)), 0.01);
+        assertEquals(3, compact.nextSelected(1));
+
+        Portfolio portfolio = compact.toPortfolio();
+        assertEquals(2, portfolio.getSelectedInvestments().size());
+        assertEquals(20.0, portfolio.getSectorAllocation().get("Sector1"), 0.01);
+
+        // Each conversion is the caller's own, also across copies
+        portfolio.addInvestment(testInvestments.get(1));
+        assertEquals(2, compact.toPortfolio().getSelectedInvestments().size());
+        assertEquals(2, compact.copy().toPortfolio().getSelectedInvestments().size());
+
+        assertTrue(compact.remove(0));
+        assertEquals(-1, compact.nextSelected(4));
+        assertEquals(25.0, compact.toPortfolio().getTotalReturn(), 0.01);
+    }
+
+    @Test
+    void testMappedCsvLoaderReportsMalformedLines(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("investments.csv");
+        Files.writeString(file, "Name,ExpectedReturn,RiskFactor,Sector\n"
+                + "Investment A,10.0,5.0,Sector1\r\n"
+                + "Investment B,Value 15.0,8.0,Sector2\n"
+                + "\n"
+                + "Investment C, 20.25 ,12.5,Sector1\n"
+                + "truncated line\n");
+
+        CsvLoadReport report = MappedCsvLoader.load(file.toString());
+        InvestmentUniverse universe = report.getUniverse();
+
+        assertEquals(2, report.getRowCount());
+        assertEquals("Investment C", universe.getName(1));
+        assertEquals(20.25, universe.getExpectedReturn(1));
+        assertEquals(12.5, universe.getRiskFactor(1));
+        assertEquals(1, universe.getSectorCount());
+        assertEquals(2, report.getMalformedCount());
+        assertArrayEquals(new long[]{3, 6}, report.getMalformedLineNumbers());
+    }
+
+    @Test
+    void testUniverseSnapshotRoundTrip(@TempDir Path tempDir) throws IOException {
+        testInvestments.add(new InvestmentOption("Investment E", 1.0 / 3.0, Math.PI, "Sector2"));
+        InvestmentUniverse universe = InvestmentUniverse.of(testInvestments);
+        String file = tempDir.resolve("universe" + UniverseSnapshot.FILE_EXTENSION).toString();
+
+        UniverseSnapshot.write(universe, file);
+        assertTrue(UniverseSnapshot.isSnapshot(file));
+
+        UniverseSnapshot snapshot = UniverseSnapshot.open(file);
+        assertEquals(universe.size(), snapshot.size());
+        assertEquals(universe.getSectorCount(), snapshot.getSectorCount());
+        assertEquals("Investment E", snapshot.getName(4));
+        assertEquals(1.0 / 3.0, snapshot.getExpectedReturn(4));
+        assertEquals(Math.PI, snapshot.getRiskFactor(4));
+
+        InvestmentUniverse loaded = snapshot.toUniverse();
+        assertEquals("Sector2", loaded.getSectorName(loaded.getSectorId(4)));
+        assertEquals(KnapsackSolver.solveWithDP(universe, riskTolerance).getTotalReturn(),
+                KnapsackSolver.solveWithDP(loaded, riskTolerance).getTotalReturn(), 0.01);
+    }
+
+    @Test
+    void testGeneratorIsDeterministicAcrossThreadCounts(@TempDir Path tempDir) throws IOException {
+        Path single = tempDir.resolve("single.csv");
+        Path parallel = tempDir.resolve("parallel.csv");
+        long count = 200_000; // several chunks, the last one partial
+
+        SampleDataGenerator.generateCSV(single.toString(), count, 7L, new ForkJoinPool(1));
+        SampleDataGenerator.generateCSV(parallel.toString(), count, 7L, new ForkJoinPool(4));
+        assertArrayEquals(Files.readAllBytes(single), Files.readAllBytes(parallel));
+
+        CsvLoadReport report = MappedCsvLoader.load(single.toString());
+        assertEquals(count, report.getRowCount());
+        assertEquals(0, report.getMalformedCount());
+
+        InvestmentUniverse universe = SampleDataGenerator.generateUniverse((int) count, 7L);
+        assertEquals(report.getUniverse().getName(123_456), universe.getName(123_456));
+        assertEquals(report.getUniverse().getRiskFactor(123_456), universe.getRiskFactor(123_456), 0.005);
+    }
+
+    @Test
+    void testBatchOptimizerMatchesPerClientSolves() {
+        BitSet withoutD = new BitSet();
+        withoutD.set(0, 3);
+
+        List<ClientRequest> requests = new ArrayList<>();
+        requests.add(new ClientRequest("all-20", 20.0));
+        requests.add(new ClientRequest("all-13", 13.0));
+        requests.add(new ClientRequest("no-d-20", 20.0, withoutD));
+        requests.add(new ClientRequest("no-d-25", 25.0, withoutD));
+
+        BatchOptimizer optimizer = new BatchOptimizer(InvestmentUniverse.of(testInvestments), new ForkJoinPool(2));
+        List<ClientResult> results = optimizer.optimizeAll(requests);
+
+        assertEquals("all-20", results.get(0).getClientId());
+        assertEquals(35.0, results.get(0).getPortfolio().getTotalReturn(), 0.01);
+        assertEquals(25.0, results.get(1).getPortfolio().getTotalReturn(), 0.01);
+        assertEquals(35.0, results.get(2).getPortfolio().getTotalReturn(), 0.01);
+        assertEquals(45.0, results.get(3).getPortfolio().getTotalReturn(), 0.01);
+
+        List<InvestmentOption> eligible = testInvestments.subList(0, 3);
+        assertEquals(KnapsackSolver.solveWithDP(eligible, 25.0).getTotalReturn(),
+                results.get(3).getPortfolio().getTotalReturn(), 0.01);
+    }
+
+    @Test
+    void testOptimizationServerRejectsOversizedRequests() throws Exception {
+        OptimizationServer server = new OptimizationServer(0, 1, 4);
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            URI optimize = URI.create("http://localhost:" + server.getPort() + "/optimize");
+            String investment = "{\"name\": \"A\", \"expectedReturn\": 10, \"riskFactor\": 5, \"sector\": \"S\"}";
+
+            // A 1e8-cell DP table
+            String wide = "{\"solver\": \"dp\", \"riskTolerance\": 1e6, \"investments\": [" + investment + "]}";
+            // An exact sector-capped search over more investments than it is allowed to take on
+            String many = "{\"solver\": \"diversified\", \"riskTolerance\": 20, \"investments\": ["
+                    + String.join(",", Collections.nCopies(100, investment)) + "]}";
+            // A body beyond the size limit
+            String huge = "{\"solver\": \"greedy-ratio\", \"riskTolerance\": 20, \"padding\": \""
+                    + "x".repeat(5 << 20) + "\", \"investments\": []}";
+
+            for (String body : List.of(wide, many, huge)) {
+                HttpResponse<String> response = client.send(HttpRequest.newBuilder(optimize)
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+                assertEquals(400, response.statusCode());
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testOptimizationServerRejectsExplodingParetoFrontierAndDeepNesting() throws Exception {
+        OptimizationServer server = new OptimizationServer(0, 1, 4);
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            URI optimize = URI.create("http://localhost:" + server.getPort() + "/optimize");
+
+            // Return proportional to risk makes every subset non-dominated, so the frontier doubles per investment
+            Random random = new Random(5);
+            List<String> investments = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                double risk = 1 + random.nextDouble();
+                investments.add("{\"name\": \"I" + i + "\", \"expectedReturn\": " + 2 * risk
+                        + ", \"riskFactor\": " + risk + ", \"sector\": \"S\"}");
+            }
+            String exploding = "{\"solver\": \"pareto\", \"riskTolerance\": 1e6, \"investments\": ["
+                    + String.join(",", investments) + "]}";
+            String nested = "[".repeat(1 << 20);
+
+            for (String body : List.of(exploding, nested)) {
+                HttpResponse<String> response = client.send(HttpRequest.newBuilder(optimize)
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+                assertEquals(400, response.statusCode());
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testOptimizationServerSolvesOverHttp() throws Exception {
+        OptimizationServer server = new OptimizationServer(0, 1, 4);
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://localhost:" + server.getPort();
+            String body = "{\"solver\": \"dp\", \"riskTolerance\": 20, \"investments\": ["
+                    + "{\"name\": \"A\", \"expectedReturn\": 10, \"riskFactor\": 5, \"sector\": \"Sector1\"},"
+                    + "{\"name\": \"B\", \"expectedReturn\": 15, \"riskFactor\": 8, \"sector\": \"Sector2\"},"
+                    + "{\"name\": \"C\", \"expectedReturn\": 20, \"riskFactor\": 12, \"sector\": \"Sector3\"},"
+                    + "{\"name\": \"D\", \"expectedReturn\": 25, \"riskFactor\": 15, \"sector\": \"Sector1\"}]}";
+
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/optimize"))
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            assertEquals(35.0, (Double) ((Map<?, ?>) Json.parse(response.body())).get("totalReturn"), 0.01);
+
+            HttpResponse<String> invalid = client.send(HttpRequest.newBuilder(URI.create(base + "/optimize"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"riskTolerance\": 20}")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, invalid.statusCode());
+
+            HttpResponse<String> stats = client.send(HttpRequest.newBuilder(URI.create(base + "/stats")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            Map<?, ?> solvers = (Map<?, ?>) ((Map<?, ?>) Json.parse(stats.body())).get("solvers");
+            assertEquals(1.0, ((Map<?, ?>) solvers.get("dp")).get("count"));
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testAnytimeSolverReachesOptimumWithGapBound() {
+        double riskTolerance = 20.0;
+        AnytimeResult result = AnytimeSolver.solve(testInvestments, riskTolerance, 1.0, 50_000_000L);
+
+        assertEquals(KnapsackSolver.solveWithDP(testInvestments, riskTolerance).getTotalReturn(),
+                result.getPortfolio().getTotalReturn(), 0.01);
+        assertTrue(result.getUpperBound() >= result.getPortfolio().getTotalReturn());
+        assertTrue(result.getGap() >= 0 && result.getGap() < 1);
+
+        Portfolio capped = AnytimeSolver.solve(testInvestments, 40.0, 0.5, 10_000_000L).getPortfolio();
+        assertTrue(capped.getTotalRisk() <= 40.0);
+        for (double sectorRisk : capped.getSectorAllocation().values()) {
+            assertTrue(sectorRisk <= 0.5 * capped.getTotalRisk() + 1e-9);
+        }
+    }
+
+    @Test
+    void testAnytimeSolverStaysWithinBudgetOnLargeUniverse() {
+        Random random = new Random(7);
+        List<InvestmentOption> investments = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            investments.add(new InvestmentOption("I" + i, random.nextDouble() * 20 - 2,
+                    0.1 + random.nextDouble() * 10, "Sector" + (i % 7)));
+        }
+        InvestmentUniverse universe = InvestmentUniverse.of(investments);
+        double riskTolerance = 4000.0;
+        long budget = 10_000_000L;
+
+        for (double maxSectorAllocation : new double[]{1.0, 0.3}) {
+            // A simulated clock that advances 1 us per read, so the check does not depend on machine load
+            long[] now = {0};
+            AnytimeResult result = AnytimeSolver.solve(universe, riskTolerance, maxSectorAllocation, budget,
+                    () -> now[0] += 1_000);
+            assertTrue(result.getElapsedNanos() <= budget + 1_000,
+                    "read the clock " + (result.getElapsedNanos() - budget) / 1_000 + " times past the deadline");
+            assertTrue(result.getPortfolio().getTotalRisk() <= riskTolerance + 1e-6);
+        }
+    }
+
+    @Test
+    void testGreedySelectionMatchesSortedGreedy() {
+        testInvestments.add(new InvestmentOption("Cash", 2.0, 0.0, "Sector4"));
+        double riskTolerance = 20.0;
+
+        Portfolio byRatio = GreedySolver.solveBestRatioFirst(testInvestments, riskTolerance);
+        Portfolio byRatioSelection = GreedySolver.solveBestRatioFirstBySelection(testInvestments, riskTolerance);
+        assertEquals(27.0, byRatio.getTotalReturn(), 0.01);
+        assertEquals(new HashSet<>(byRatio.getSelectedInvestments()),
+                new HashSet<>(byRatioSelection.getSelectedInvestments()));
+
+        Portfolio byReturn = GreedySolver.solveHighestReturnFirst(testInvestments, riskTolerance);
+        Portfolio byReturnSelection = GreedySolver.solveHighestReturnFirstBySelection(testInvestments, riskTolerance);
+        assertEquals(37.0, byReturn.getTotalReturn(), 0.01);
+        assertEquals(new HashSet<>(byReturn.getSelectedInvestments()),
+                new HashSet<>(byReturnSelection.getSelectedInvestments()));
+    }
+
+    @Test
+    void testGreedySelectionMatchesSortedGreedyWithManyTies() {
+        // Ratios are whole numbers 1-5, so thousands of investments tie; a few are risk-free
+        Random random = new Random(3);
+        List<InvestmentOption> investments = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            double risk = random.nextInt(20) == 0 ? 0.0 : 1 + random.nextInt(10);
+            double expectedReturn = risk == 0 ? 1 + random.nextInt(5) : risk * (1 + random.nextInt(5));
+            investments.add(new InvestmentOption("Inv" + i, expectedReturn, risk, "Sector" + (i % 4)));
+        }
+
+        for (double riskTolerance : new double[]{0.0, 7.0, 250.0, 5000.0, 100000.0}) {
+            assertEquals(new HashSet<>(GreedySolver.solveBestRatioFirst(investments, riskTolerance).getSelectedInvestments()),
+                    new HashSet<>(GreedySolver.solveBestRatioFirstBySelection(investments, riskTolerance).getSelectedInvestments()));
+            assertEquals(new HashSet<>(GreedySolver.solveHighestReturnFirst(investments, riskTolerance).getSelectedInvestments()),
+                    new HashSet<>(GreedySolver.solveHighestReturnFirstBySelection(investments, riskTolerance).getSelectedInvestments()));
+        }
+    }
+
+    @Test
+    void testCoreSolverMatchesDP() {
+        for (double riskTolerance : new double[]{0.0, 5.0, 12.5, 20.0, 27.0, 40.0}) {
+            assertEquals(KnapsackSolver.solveWithDP(testInvestments, riskTolerance).getTotalReturn(),
+                    CoreKnapsackSolver.solve(testInvestments, riskTolerance).getTotalReturn(), 0.01);
+        }
+
+        InvestmentUniverse universe = SampleDataGenerator.generateUniverse(2000, 7L);
+        assertEquals(KnapsackSolver.solveWithDP(universe, 50.0).getTotalReturn(),
+                CoreKnapsackSolver.solve(universe, 50.0).getTotalReturn(), 1e-6);
+    }
+
+    @Test
+    void testVectorKnapsackRespectsEveryRiskDimension() {
+        List<InvestmentOption> investments = new ArrayList<>();
+        investments.add(new InvestmentOption("Investment A", 10.0, new double[]{5.0, 1.0, 2.0}, "Sector1"));
+        investments.add(new InvestmentOption("Investment B", 15.0, new double[]{8.0, 6.0, 1.0}, "Sector2"));
+        investments.add(new InvestmentOption("Investment C", 20.0, new double[]{12.0, 2.0, 8.0}, "Sector3"));
+        investments.add(new InvestmentOption("Investment D", 25.0, new double[]{15.0, 9.0, 3.0}, "Sector1"));
+        double[] riskLimits = {25.0, 10.0, 10.0};
+
+        Portfolio exact = VectorKnapsackSolver.solveExact(investments, riskLimits);
+        assertEquals(35.0, exact.getTotalReturn(), 0.01);
+        for (int d = 0; d < riskLimits.length; d++) {
+            assertTrue(exact.getTotalRisk(d) <= riskLimits[d]);
+        }
+        assertEquals(exact.getTotalRisk(), exact.getTotalRisk(0), 0.01);
+
+        Portfolio heuristic = VectorKnapsackSolver.solveHeuristic(investments, riskLimits);
+        for (int d = 0; d < riskLimits.length; d++) {
+            assertTrue(heuristic.getTotalRisk(d) <= riskLimits[d]);
+        }
+    }
+
+    @Test
+    void testRiskDimensionsReachPortfolioTotalsAndCacheFingerprint() {
+        Portfolio scalar = new Portfolio();
+        scalar.addInvestment(new InvestmentOption("Investment A", 10.0, 5.0, "Sector1"));
+        assertEquals(1, scalar.getRiskDimensions());
+        assertEquals(5.0, scalar.getTotalRisk(0), 0.01);
+        assertEquals(0.0, scalar.getTotalRisk(1), 0.01);
+
+        scalar.addInvestment(new InvestmentOption("Investment B", 15.0, new double[]{8.0, 6.0}, "Sector2"));
+        assertEquals(2, scalar.getRiskDimensions());
+        assertEquals(13.0, scalar.getTotalRisk(0), 0.01);
+        assertEquals(6.0, scalar.getTotalRisk(1), 0.01);
+
+        List<InvestmentOption> low = List.of(new InvestmentOption("Investment C", 10.0, new double[]{5.0, 1.0}, "Sector1"));
+        List<InvestmentOption> high = List.of(new InvestmentOption("Investment C", 10.0, new double[]{5.0, 9.0}, "Sector1"));
+        assertNotEquals(SolverCache.fingerprint(low), SolverCache.fingerprint(high));
+    }
+
+    @Test
+    void testSectorFrontierSolverMatchesExhaustiveSearchOnLargerUniverse() {
+        Random random = new Random(11);
+        List<InvestmentOption> investments = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            investments.add(new InvestmentOption("I" + i, 1 + random.nextInt(40),
+                    (5 + random.nextInt(150)) / 10.0, "Sector" + (i % 3)));
+        }
+
+        for (double maxSectorAllocation : new double[]{0.35, 0.5, 0.7}) {
+            Portfolio exhaustive = DiversifiedKnapsackSolver.solveWithExhaustiveSearch(
+                    investments, 60.0, maxSectorAllocation);
+            Portfolio frontier = SectorFrontierSolver.solve(investments, 60.0, maxSectorAllocation);
+
+            assertEquals(exhaustive.getTotalReturn(), frontier.getTotalReturn(), 0.01);
+            assertTrue(frontier.getTotalRisk() <= 60.0 + 1e-9);
+            for (double sectorRisk : frontier.getSectorAllocation().values()) {
+                assertTrue(sectorRisk <= maxSectorAllocation * frontier.getTotalRisk() + 1e-9);
+            }
+        }
+
+        // Unrounded risks have no exact grid to build the frontiers on
+        investments.add(new InvestmentOption("Unrounded", 5.0, Math.PI, "Sector1"));
+        assertThrows(IllegalArgumentException.class, () -> SectorFrontierSolver.solve(investments, 60.0, 0.5));
+
+        // 2,000 investments on a 10,001-cell grid need more than 2^24 take/skip bits
+        List<InvestmentOption> wide = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            wide.add(new InvestmentOption("Wide" + i, 1.0, 1 + (i % 100) / 100.0, "Sector" + (i % 4)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> SectorFrontierSolver.solve(wide, 100.0, 0.5));
+    }
+
+    @Test
+    void testSectorFrontierSolverMatchesExhaustiveSearch() {
+        for (double maxSectorAllocation : new double[]{0.4, 0.6, 1.0}) {
+            Portfolio exhaustive = DiversifiedKnapsackSolver.solveWithExhaustiveSearch(
+                    testInvestments, riskTolerance, maxSectorAllocation);
+            Portfolio frontier = SectorFrontierSolver.solve(testInvestments, riskTolerance, maxSectorAllocation);
+
+            assertEquals(exhaustive.getTotalReturn(), frontier.getTotalReturn(), 0.01);
+            assertTrue(frontier.getTotalRisk() <= riskTolerance);
+        }
+    }
+
+    @Test
+    void testSolverMetricsCountWorkPerSolver() {
+        SolverMetrics metrics = new SolverMetrics();
+        SolverEvents.addListener(metrics);
+        try {
+            KnapsackSolver.solveWithDP(testInvestments, riskTolerance);
+            DiversifiedKnapsackSolver.solveWithExhaustiveSearch(testInvestments, riskTolerance, 0.6);
+        } finally {
+            SolverEvents.removeListener(metrics);
+        }
+        KnapsackSolver.solveWithDP(testInvestments, riskTolerance);
+
+        SolverMetricsMXBean dp = metrics.get("KnapsackSolver.solveWithDP");
+        assertEquals(1, dp.getSolveCount());
+        assertEquals(testInvestments.size() * (long) (riskTolerance * 100 + 1), dp.getDpCells());
+        assertTrue(dp.getTableBytes() > 0);
+
+        SolverMetricsMXBean exhaustive = metrics.get("DiversifiedKnapsackSolver.solveWithExhaustiveSearch");
+        assertEquals(1L << testInvestments.size(), exhaustive.getSubsetsEnumerated());
+    }
 }
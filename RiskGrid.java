@@ -0,0 +1,168 @@
+// RiskGrid.java in com.portfolio.algorithm
+package com.portfolio.algorithm;
+
+import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.InvestmentUniverse;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class RiskGrid {
+
+    // Risks needing more decimals than this cannot be put on an exact grid
+    private static final int MAX_DECIMALS = 6;
+
+    // Widest DP row a grid may ask for; one row of this many doubles is already 128 MB
+    static final int MAX_TABLE_WIDTH = 1 << 24;
+
+    // Slack, in grid units, for representation error when checking a risk against its grid value
+    private static final double UNIT_SLACK = 1e-6;
+
+    private final int decimals;
+    private final long divisor;
+    private final int[] scaledRisks;
+    private final int scaledRiskTolerance;
+
+    private RiskGrid(int decimals, long divisor, int[] scaledRisks, int scaledRiskTolerance) {
+        this.decimals = decimals;
+        this.divisor = divisor;
+        this.scaledRisks = scaledRisks;
+        this.scaledRiskTolerance = scaledRiskTolerance;
+    }
+
+    /**
+     * Builds the coarsest integer grid that represents every risk exactly. Detects the smallest
+     * number of decimals needed by the risks, converts them to integers at that precision and
+     * divides by their greatest common divisor. The tolerance is floored onto the same grid,
+     * which is exact because every sum of risks is a multiple of one grid step.
+     *
+     * Risks are never rounded: a risk that needs more than six decimals (such as an unrounded
+     * random double) has no exact grid, and a grid whose table would be wider than
+     * MAX_TABLE_WIDTH cells is not built either. Both are rejected, since solving on them would
+     * either break the tolerance or allocate an unbounded table.
+     *
+     * @param investments List of available investment options
+     * @param riskTolerance Maximum risk tolerance
+     * @return Normalized risk grid
+     * @throws IllegalArgumentException If a risk needs more than six decimals or the table would be too wide
+     */
+    public static RiskGrid normalize(List<InvestmentOption> investments, double riskTolerance) {
+        return normalize(InvestmentUniverse.of(investments), riskTolerance);
+    }
+
+    /**
+     * Same as normalize(List, double) over the raw risks of a struct-of-arrays universe
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance
+     * @return Normalized risk grid
+     * @throws IllegalArgumentException If a risk needs more than six decimals or the table would be too wide
+     */
+    public static RiskGrid normalize(InvestmentUniverse universe, double riskTolerance) {
+        int n = universe.size();
+
+        int decimals = 0;
+        for (int i = 0; i < n; i++) {
+            decimals = Math.max(decimals, decimalPlaces(universe.getRiskFactor(i)));
+        }
+        decimals = Math.min(decimals, MAX_DECIMALS);
+        double power = Math.pow(10, decimals);
+
+        long[] units = new long[n];
+        long divisor = 0;
+        for (int i = 0; i < n; i++) {
+            double exactUnits = universe.getRiskFactor(i) * power;
+            units[i] = Math.round(exactUnits);
+            if (Math.abs(exactUnits - units[i]) > UNIT_SLACK) {
+                throw new IllegalArgumentException("Risk " + universe.getRiskFactor(i) + " of "
+                        + universe.getInvestment(i).getName() + " needs more than " + MAX_DECIMALS
+                        + " decimals and has no exact grid; round the risks or use an unscaled solver");
+            }
+            divisor = gcd(divisor, Math.abs(units[i]));
+        }
+        if (divisor == 0) {
+            divisor = 1; // no investment carries any risk
+        }
+
+        // Floor the tolerance onto the grid, allowing for representation error in the product
+        long toleranceUnits = (long) Math.floor(riskTolerance * power + 1e-6);
+        long capacity = Math.max(0, Math.floorDiv(toleranceUnits, divisor));
+        if (capacity >= MAX_TABLE_WIDTH) {
+            throw new IllegalArgumentException("Risk tolerance " + riskTolerance + " needs a table of "
+                    + (capacity + 1) + " cells on a grid of step " + divisor / power
+                    + ", more than the limit of " + MAX_TABLE_WIDTH);
+        }
+
+        // Risks beyond the capacity can never be taken, so clamping them keeps the int range safe
+        int[] scaledRisks = new int[n];
+        for (int i = 0; i < n; i++) {
+            scaledRisks[i] = (int) Math.min(units[i] / divisor, capacity + 1);
+        }
+
+        return new RiskGrid(decimals, divisor, scaledRisks, (int) capacity);
+    }
+
+    /**
+     * Number of decimals in the shortest decimal representation of a value
+     */
+    private static int decimalPlaces(double value) {
+        if (value == Math.rint(value)) {
+            return 0;
+        }
+        return Math.max(0, BigDecimal.valueOf(value).stripTrailingZeros().scale());
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    // Getters
+    public int getDecimals() {
+        return decimals;
+    }
+
+    public long getDivisor() {
+        return divisor;
+    }
+
+    /**
+     * @return Risk represented by one grid step
+     */
+    public double getStep() {
+        return divisor / Math.pow(10, decimals);
+    }
+
+    public int getScaledRisk(int index) {
+        return scaledRisks[index];
+    }
+
+    public int getScaledRiskTolerance() {
+        return scaledRiskTolerance;
+    }
+
+    /**
+     * @return Number of capacity cells in a DP row on this grid
+     */
+    public int getTableWidth() {
+        return scaledRiskTolerance + 1;
+    }
+
+    int[] getScaledRisks() {
+        return scaledRisks;
+    }
+
+    @Override
+    public String toString() {
+        return "RiskGrid{" +
+                "decimals=" + decimals +
+                ", divisor=" + divisor +
+                ", step=" + getStep() +
+                ", tableWidth=" + getTableWidth() +
+                '}';
+    }
+}
@@ -2,16 +2,37 @@
 package com.portfolio.util;
 
 import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.InvestmentUniverse;
 
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 public class SampleDataGenerator {
 
+    private static final String[] SECTORS = {"Technology", "Finance", "Healthcare", "Energy", "Consumer",
+            "Real Estate", "Utilities", "Telecom", "Materials", "Industrial"};
+    private static final String[] TYPE_PREFIXES = {"Stock", "Bond", "ETF", "Fund", "REIT"};
+    private static final String[] TYPE_MODIFIERS = {"Growth", "Value", "Income", "Dividend", "Index"};
+
+    // Rows are generated in fixed-size chunks, each from its own random stream, so the output
+    // does not depend on how many threads format them
+    private static final int CHUNK_ROWS = 1 << 16;
+
+    private static final String CSV_HEADER = "Name,ExpectedReturn,RiskFactor,Sector\n";
+
     /**
      * Generates a sample CSV file with investment options
      *
@@ -25,16 +46,11 @@ public class SampleDataGenerator {
 
             // Generate random investments
             Random random = new Random();
-            String[] sectors = {"Technology", "Finance", "Healthcare", "Energy", "Consumer",
-                    "Real Estate", "Utilities", "Telecom", "Materials", "Industrial"};
-
-            String[] typesPrefixes = {"Stock", "Bond", "ETF", "Fund", "REIT"};
-            String[] typesModifiers = {"Growth", "Value", "Income", "Dividend", "Index"};
 
             for (int i = 0; i < count; i++) {
-                String sector = sectors[random.nextInt(sectors.length)];
-                String typePrefix = typesPrefixes[random.nextInt(typesPrefixes.length)];
-                String typeModifier = typesModifiers[random.nextInt(typesModifiers.length)];
+                String sector = SECTORS[random.nextInt(SECTORS.length)];
+                String typePrefix = TYPE_PREFIXES[random.nextInt(TYPE_PREFIXES.length)];
+                String typeModifier = TYPE_MODIFIERS[random.nextInt(TYPE_MODIFIERS.length)];
 
                 String name = sector + " " + typePrefix + " " + (char)('A' + i % 26);
 
@@ -53,7 +69,7 @@ public class SampleDataGenerator {
                 // Ensure risk is between 1-10
                 riskFactor = Math.max(1.0, Math.min(10.0, riskFactor));
 
-                writer.printf("%s,%s %.2f,%.2f,%s\n",
+                writer.printf("%s %s,%.2f,%.2f,%s\n",
                         name, typeModifier, baseReturn, riskFactor, sector);
             }
 
@@ -63,4 +79,298 @@ public class SampleDataGenerator {
             System.err.println("Error generating sample data: " + e.getMessage());
         }
     }
+
+    /**
+     * Generates a reproducible CSV universe in parallel on the common fork/join pool. Rows are
+     * produced in fixed-size chunks, each drawing from a SplittableRandom derived from the seed
+     * and the chunk index, formatted straight into byte buffers and written in chunk order, so
+     * the file is byte-for-byte identical for a given seed and count on any number of threads.
+     *
+     * @param filePath Output file path
+     * @param count Number of investments to generate
+     * @param seed Seed of the random streams
+     */
+    public static void generateCSV(String filePath, long count, long seed) {
+        generateCSV(filePath, count, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as generateCSV(String, long, long) on a caller-supplied pool
+     *
+     * @param filePath Output file path
+     * @param count Number of investments to generate
+     * @param seed Seed of the random streams
+     * @param pool Pool that formats the chunks
+     */
+    public static void generateCSV(String filePath, long count, long seed, ForkJoinPool pool) {
+        long chunkCount = (count + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        // Chunks are formatted a window at a time, which bounds memory to a few chunks per thread
+        int window = Math.max(1, pool.getParallelism() * 2);
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, ByteBuffer.wrap(CSV_HEADER.getBytes(StandardCharsets.US_ASCII)));
+
+            byte[][] formatted = new byte[window][];
+            int[] lengths = new int[window];
+            for (long first = 0; first < chunkCount; first += window) {
+                int chunks = (int) Math.min(window, chunkCount - first);
+                pool.invoke(new CsvChunkTask(seed, count, first, formatted, lengths, 0, chunks));
+                for (int k = 0; k < chunks; k++) {
+                    writeFully(channel, ByteBuffer.wrap(formatted[k], 0, lengths[k]));
+                }
+            }
+
+            System.out.println("Generated " + count + " sample investments to " + filePath);
+
+        } catch (IOException e) {
+            System.err.println("Error generating sample data: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Generates a reproducible universe in parallel straight into primitive columns, with the
+     * same rows generateCSV writes for the same seed (apart from its two-decimal rounding)
+     *
+     * @param count Number of investments to generate
+     * @param seed Seed of the random streams
+     * @return Generated universe
+     */
+    public static InvestmentUniverse generateUniverse(int count, long seed) {
+        String[] names = new String[count];
+        double[] expectedReturns = new double[count];
+        double[] riskFactors = new double[count];
+        int[] sectorIds = new int[count];
+
+        int chunkCount = (count + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        ForkJoinPool.commonPool().invoke(new ColumnChunkTask(seed, names, expectedReturns, riskFactors,
+                sectorIds, 0, chunkCount));
+
+        return InvestmentUniverse.fromColumns(names, expectedReturns, riskFactors, sectorIds,
+                SECTORS.clone(), InvestmentUniverse.DEFAULT_SCALE_FACTOR);
+    }
+
+    /**
+     * Generates a reproducible universe and writes it as a binary snapshot (see UniverseSnapshot)
+     *
+     * @param filePath Output file path
+     * @param count Number of investments to generate
+     * @param seed Seed of the random streams
+     */
+    public static void generateSnapshot(String filePath, int count, long seed) {
+        try {
+            UniverseSnapshot.write(generateUniverse(count, seed), filePath);
+            System.out.println("Generated " + count + " sample investments to " + filePath);
+        } catch (IOException e) {
+            System.err.println("Error generating sample data: " + e.getMessage());
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Independent random stream for a chunk, derived from the seed and chunk index only
+     */
+    private static SplittableRandom chunkRandom(long seed, long chunk) {
+        return new SplittableRandom(mix64(seed ^ mix64(chunk + 1)));
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb34fe63a53b9L;
+        return z ^ (z >>> 33);
+    }
+
+    /**
+     * One generated row; the draws follow the same distributions as generateSampleCSV
+     */
+    private static final class Row {
+        int sector;
+        int typePrefix;
+        int typeModifier;
+        double expectedReturn;
+        double riskFactor;
+
+        void next(SplittableRandom random) {
+            sector = random.nextInt(SECTORS.length);
+            typePrefix = random.nextInt(TYPE_PREFIXES.length);
+            typeModifier = random.nextInt(TYPE_MODIFIERS.length);
+
+            if (TYPE_PREFIXES[typePrefix].equals("Bond")) {
+                expectedReturn = 2.0 + random.nextDouble() * 4.0;
+            } else if (TYPE_PREFIXES[typePrefix].equals("Stock")) {
+                expectedReturn = 5.0 + random.nextDouble() * 15.0;
+            } else {
+                expectedReturn = 4.0 + random.nextDouble() * 10.0;
+            }
+
+            riskFactor = (expectedReturn / 20.0) * 10.0 + random.nextDouble() * 3.0 - 1.5;
+            riskFactor = Math.max(1.0, Math.min(10.0, riskFactor));
+        }
+
+        String name(long index) {
+            return SECTORS[sector] + " " + TYPE_PREFIXES[typePrefix] + " " + TYPE_MODIFIERS[typeModifier] + " " + index;
+        }
+    }
+
+    /**
+     * Formats a range of chunks of a window into CSV bytes
+     */
+    @SuppressWarnings("serial")
+    private static final class CsvChunkTask extends RecursiveAction {
+        private static final byte[][] SECTOR_BYTES = ascii(SECTORS);
+        private static final byte[][] PREFIX_BYTES = ascii(TYPE_PREFIXES);
+        private static final byte[][] MODIFIER_BYTES = ascii(TYPE_MODIFIERS);
+
+        private final long seed;
+        private final long count;
+        private final long firstChunk;
+        private final byte[][] formatted;
+        private final int[] lengths;
+        private final int from;
+        private final int to;
+
+        CsvChunkTask(long seed, long count, long firstChunk, byte[][] formatted, int[] lengths, int from, int to) {
+            this.seed = seed;
+            this.count = count;
+            this.firstChunk = firstChunk;
+            this.formatted = formatted;
+            this.lengths = lengths;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new CsvChunkTask(seed, count, firstChunk, formatted, lengths, from, mid),
+                        new CsvChunkTask(seed, count, firstChunk, formatted, lengths, mid, to));
+                return;
+            }
+
+            long chunk = firstChunk + from;
+            long start = chunk * CHUNK_ROWS;
+            long end = Math.min(count, start + CHUNK_ROWS);
+            SplittableRandom random = chunkRandom(seed, chunk);
+            Row row = new Row();
+
+            byte[] out = formatted[from] != null ? formatted[from] : new byte[CHUNK_ROWS * 64];
+            int position = 0;
+            for (long i = start; i < end; i++) {
+                row.next(random);
+                if (out.length - position < 128) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                position = put(out, position, SECTOR_BYTES[row.sector]);
+                out[position++] = ' ';
+                position = put(out, position, PREFIX_BYTES[row.typePrefix]);
+                out[position++] = ' ';
+                position = put(out, position, MODIFIER_BYTES[row.typeModifier]);
+                out[position++] = ' ';
+                position = putLong(out, position, i);
+                out[position++] = ',';
+                position = putCents(out, position, row.expectedReturn);
+                out[position++] = ',';
+                position = putCents(out, position, row.riskFactor);
+                out[position++] = ',';
+                position = put(out, position, SECTOR_BYTES[row.sector]);
+                out[position++] = '\n';
+            }
+            formatted[from] = out;
+            lengths[from] = position;
+        }
+
+        private static byte[][] ascii(String[] values) {
+            byte[][] bytes = new byte[values.length][];
+            for (int i = 0; i < values.length; i++) {
+                bytes[i] = values[i].getBytes(StandardCharsets.US_ASCII);
+            }
+            return bytes;
+        }
+
+        private static int put(byte[] out, int position, byte[] bytes) {
+            System.arraycopy(bytes, 0, out, position, bytes.length);
+            return position + bytes.length;
+        }
+
+        private static int putLong(byte[] out, int position, long value) {
+            if (value == 0) {
+                out[position] = '0';
+                return position + 1;
+            }
+            int digits = 0;
+            for (long v = value; v > 0; v /= 10) {
+                digits++;
+            }
+            for (int d = digits - 1; d >= 0; d--) {
+                out[position + d] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            return position + digits;
+        }
+
+        /**
+         * Writes a non-negative value rounded to two decimals
+         */
+        private static int putCents(byte[] out, int position, double value) {
+            long cents = Math.round(value * 100);
+            position = putLong(out, position, cents / 100);
+            out[position++] = '.';
+            out[position++] = (byte) ('0' + (cents / 10) % 10);
+            out[position++] = (byte) ('0' + cents % 10);
+            return position;
+        }
+    }
+
+    /**
+     * Generates a range of chunks into the universe columns
+     */
+    @SuppressWarnings("serial")
+    private static final class ColumnChunkTask extends RecursiveAction {
+        private final long seed;
+        private final String[] names;
+        private final double[] expectedReturns;
+        private final double[] riskFactors;
+        private final int[] sectorIds;
+        private final int from;
+        private final int to;
+
+        ColumnChunkTask(long seed, String[] names, double[] expectedReturns, double[] riskFactors,
+                        int[] sectorIds, int from, int to) {
+            this.seed = seed;
+            this.names = names;
+            this.expectedReturns = expectedReturns;
+            this.riskFactors = riskFactors;
+            this.sectorIds = sectorIds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ColumnChunkTask(seed, names, expectedReturns, riskFactors, sectorIds, from, mid),
+                        new ColumnChunkTask(seed, names, expectedReturns, riskFactors, sectorIds, mid, to));
+                return;
+            }
+
+            int start = from * CHUNK_ROWS;
+            int end = Math.min(names.length, start + CHUNK_ROWS);
+            SplittableRandom random = chunkRandom(seed, from);
+            Row row = new Row();
+            for (int i = start; i < end; i++) {
+                row.next(random);
+                names[i] = row.name(i);
+                expectedReturns[i] = row.expectedReturn;
+                riskFactors[i] = row.riskFactor;
+                sectorIds[i] = row.sector;
+            }
+        }
+    }
 }
@@ -0,0 +1,318 @@
+// SectorFrontierSolver.java in com.portfolio.algorithm
+package com.portfolio.algorithm;
+
+import com.portfolio.model.CompactPortfolio;
+import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.InvestmentUniverse;
+import com.portfolio.model.Portfolio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class SectorFrontierSolver {
+
+    // Slack used when comparing floating point risks against the caps, as in DiversifiedKnapsackSolver
+    private static final double EPSILON = 1e-9;
+
+    // Largest take/skip table, in bits (one per investment and grid cell): 2 MB, the 2^24-cell
+    // budget the other table-based solvers use
+    private static final long MAX_DECISION_BITS = 1L << 24;
+
+    // Largest total of the per-sector frontier arrays, in grid cells (about 12 bytes each)
+    private static final long MAX_FRONTIER_CELLS = 1L << 22;
+
+    /**
+     * Solves the sector-constrained problem of DiversifiedKnapsackSolver exactly by separating it
+     * per sector. For each sector, in parallel, a DP computes its frontier: the best return of
+     * the sector's investments at every exact risk on the RiskGrid of the data. A portfolio is
+     * then one risk level per sector, and the caps only ask that each level be at most
+     * maxSectorAllocation of their sum.
+     *
+     * For every total risk T the cap is c(T) = maxSectorAllocation * T. The frontiers, cut off
+     * at c, are merged by max-plus convolution over total risk, once per distinct cap, giving
+     * the best return at every total T whose cap is c. Caps are visited from the largest down,
+     * and a merge under one cap bounds every smaller cap, so once the incumbent beats that bound
+     * the remaining caps are never merged. The work is polynomial in the grid width W - O(n * W)
+     * for the frontiers and O(S * W * c) per merged cap for S sectors - instead of exponential in
+     * the number of investments.
+     *
+     * DiversifiedKnapsackSolver.solveWithBranchAndBound remains the default: its fractional bound
+     * prunes most of the tree on typical data and it does not depend on the grid, so it is often
+     * an order of magnitude faster. Choose this solver when the risks sit on a coarse grid (whole
+     * numbers or a few decimals) and a predictable cost matters more than the typical one, e.g.
+     * when many investments have near-equal return/risk ratios and the caps bind hard, which is
+     * where branch and bound degrades towards exhaustive search.
+     *
+     * Memory is n * W bits of take/skip decisions, about 12 * S * W bytes for the sector
+     * frontiers and O(S * W) for the merges; inputs beyond 2^24 decision bits or 2^22 frontier
+     * cells are rejected before anything is allocated. Each merged cap costs O(S * W * cap), so
+     * when the bound never lets a cap be skipped the merges total O(S * W^3).
+     *
+     * @param investments List of available investment options
+     * @param riskTolerance Maximum risk tolerance
+     * @param maxSectorAllocation Maximum allocation per sector (as a fraction of total risk)
+     * @return Optimized diversified portfolio, investments in input order
+     * @throws IllegalArgumentException If the risks have no exact grid or the frontier tables would be too large
+     */
+    public static Portfolio solve(List<InvestmentOption> investments, double riskTolerance,
+                                  double maxSectorAllocation) {
+        return solve(InvestmentUniverse.of(investments), riskTolerance, maxSectorAllocation);
+    }
+
+    /**
+     * Same as solve(List, double, double) over a struct-of-arrays universe, with the sector
+     * frontiers computed on the common fork-join pool
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance
+     * @param maxSectorAllocation Maximum allocation per sector (as a fraction of total risk)
+     * @return Optimized diversified portfolio, investments in input order
+     * @throws IllegalArgumentException If the risks have no exact grid or the frontier tables would be too large
+     */
+    public static Portfolio solve(InvestmentUniverse universe, double riskTolerance, double maxSectorAllocation) {
+        return solve(universe, riskTolerance, maxSectorAllocation, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as solve(InvestmentUniverse, double, double), computing one sector frontier per task
+     * on the given pool
+     *
+     * @param universe Available investments
+     * @param riskTolerance Maximum risk tolerance
+     * @param maxSectorAllocation Maximum allocation per sector (as a fraction of total risk)
+     * @param pool Pool that computes the sector frontiers
+     * @return Optimized diversified portfolio, investments in input order
+     * @throws IllegalArgumentException If the risks have no exact grid or the frontier tables would be too large
+     */
+    public static Portfolio solve(InvestmentUniverse universe, double riskTolerance, double maxSectorAllocation,
+                                  ForkJoinPool pool) {
+        RiskGrid grid = RiskGrid.normalize(universe, riskTolerance);
+        int width = grid.getScaledRiskTolerance();
+        long decisionBits = (long) universe.size() * grid.getTableWidth();
+        if (decisionBits > MAX_DECISION_BITS) {
+            throw new IllegalArgumentException(universe.size() + " investments on a grid of " + grid.getTableWidth()
+                    + " cells need " + decisionBits + " decision bits, more than the limit of " + MAX_DECISION_BITS);
+        }
+        int sectorCount = universe.getSectorCount();
+        long frontierCells = (long) sectorCount * grid.getTableWidth();
+        if (frontierCells > MAX_FRONTIER_CELLS) {
+            throw new IllegalArgumentException(sectorCount + " sectors on a grid of " + grid.getTableWidth()
+                    + " cells need " + frontierCells + " frontier cells, more than the limit of " + MAX_FRONTIER_CELLS);
+        }
+
+        // Investments of each sector, in index order
+        int[] sizes = new int[sectorCount];
+        for (int i = 0; i < universe.size(); i++) {
+            sizes[universe.getSectorId(i)]++;
+        }
+        SectorFrontier[] frontiers = new SectorFrontier[sectorCount];
+        for (int s = 0; s < sectorCount; s++) {
+            frontiers[s] = new SectorFrontier(new int[sizes[s]], width);
+            sizes[s] = 0;
+        }
+        for (int i = 0; i < universe.size(); i++) {
+            SectorFrontier frontier = frontiers[universe.getSectorId(i)];
+            frontier.members[sizes[universe.getSectorId(i)]++] = i;
+        }
+
+        List<FrontierTask> tasks = new ArrayList<>();
+        for (SectorFrontier frontier : frontiers) {
+            tasks.add(new FrontierTask(universe, grid, frontier));
+        }
+        for (FrontierTask task : tasks) {
+            pool.execute(task);
+        }
+        for (FrontierTask task : tasks) {
+            task.join();
+        }
+
+        // Cap per total risk on the grid: sector risk w * step <= alpha * T * step + EPSILON
+        int[] caps = new int[width + 1];
+        for (int total = 0; total <= width; total++) {
+            double cap = Math.floor(maxSectorAllocation * total + EPSILON / grid.getStep());
+            caps[total] = (int) Math.max(-1, Math.min(total, cap));
+        }
+
+        // Totals sharing one cap form a contiguous range, since the cap never decreases with T
+        List<int[]> ranges = new ArrayList<>();
+        for (int total = 0; total <= width; total++) {
+            if (total == 0 || caps[total] != caps[total - 1]) {
+                ranges.add(new int[]{caps[total], total, total});
+            } else {
+                ranges.get(ranges.size() - 1)[2] = total;
+            }
+        }
+
+        // Walk the caps downwards. A merge under a larger cap bounds every smaller cap at every
+        // total it covers, so each merge also prunes the ranges below it.
+        double[] uncapped = merge(frontiers, width, width, null);
+        double[] bound = uncapped;
+        double[] bestBelow = prefixMaxima(bound);
+        double bestReturn = Double.NEGATIVE_INFINITY;
+        int bestCap = -1;
+        int bestTotal = -1;
+        for (int r = ranges.size() - 1; r >= 0; r--) {
+            int[] range = ranges.get(r);
+            if (bestBelow[range[2]] <= bestReturn + EPSILON) {
+                break; // nothing at this total or below can beat the incumbent
+            }
+            if (range[0] < 0) {
+                continue;
+            }
+            double[] capped = range[0] >= range[2] ? uncapped : merge(frontiers, range[0], range[2], null);
+            for (int total = range[1]; total <= range[2]; total++) {
+                if (capped[total] > bestReturn + EPSILON) {
+                    bestReturn = capped[total];
+                    bestCap = range[0];
+                    bestTotal = total;
+                }
+            }
+            if (capped != bound) {
+                bound = capped;
+                bestBelow = prefixMaxima(bound);
+            }
+        }
+
+        CompactPortfolio selection = new CompactPortfolio(universe);
+        if (bestTotal < 0) {
+            return selection.toPortfolio();
+        }
+
+        // Replay the winning merge to find each sector's risk level, then each sector's investments
+        int[][] choices = new int[sectorCount][];
+        merge(frontiers, bestCap, bestTotal, choices);
+        int total = bestTotal;
+        for (int s = sectorCount - 1; s >= 0; s--) {
+            int level = choices[s][total];
+            frontiers[s].select(grid, level, selection);
+            total -= level;
+        }
+        return selection.toPortfolio();
+    }
+
+    private static double[] prefixMaxima(double[] values) {
+        double[] maxima = new double[values.length];
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < values.length; i++) {
+            max = Math.max(max, values[i]);
+            maxima[i] = max;
+        }
+        return maxima;
+    }
+
+    /**
+     * Max-plus convolution of the sector frontiers, each cut off at the cap
+     *
+     * @param cap Largest risk level any one sector may use
+     * @param maxTotal Largest total risk computed
+     * @param choices If not null, receives per sector the level chosen at each total
+     * @return Best return at each exact total risk, or negative infinity where none exists
+     */
+    private static double[] merge(SectorFrontier[] frontiers, int cap, int maxTotal, int[][] choices) {
+        double[] merged = new double[maxTotal + 1];
+        Arrays.fill(merged, Double.NEGATIVE_INFINITY);
+        merged[0] = 0;
+        double[] next = new double[maxTotal + 1];
+
+        for (int s = 0; s < frontiers.length; s++) {
+            SectorFrontier frontier = frontiers[s];
+            int[] levelOf = choices != null ? (choices[s] = new int[maxTotal + 1]) : null;
+            Arrays.fill(next, Double.NEGATIVE_INFINITY);
+
+            for (int k = 0; k < frontier.levels.length && frontier.levels[k] <= cap; k++) {
+                int level = frontier.levels[k];
+                double value = frontier.best[level];
+                for (int total = level; total <= maxTotal; total++) {
+                    double candidate = merged[total - level] + value;
+                    if (candidate > next[total]) {
+                        next[total] = candidate;
+                        if (levelOf != null) {
+                            levelOf[total] = level;
+                        }
+                    }
+                }
+            }
+
+            double[] swap = merged;
+            merged = next;
+            next = swap;
+        }
+        return merged;
+    }
+
+    /**
+     * Best return of one sector's investments at every exact risk level, with the take/skip bits
+     * needed to recover the investments behind a level
+     */
+    private static final class SectorFrontier {
+        private final int[] members;
+        private final int width;
+        private double[] best;       // best[w] = best return at exactly w, or negative infinity
+        private int[] levels;        // reachable levels, ascending
+        private long[][] taken;      // taken[k] bit w: member k was taken to reach best[w]
+
+        SectorFrontier(int[] members, int width) {
+            this.members = members;
+            this.width = width;
+        }
+
+        void compute(InvestmentUniverse universe, RiskGrid grid) {
+            best = new double[width + 1];
+            Arrays.fill(best, Double.NEGATIVE_INFINITY);
+            best[0] = 0;
+            taken = new long[members.length][(width >>> 6) + 1];
+
+            for (int k = 0; k < members.length; k++) {
+                int risk = grid.getScaledRisk(members[k]);
+                double expectedReturn = universe.getExpectedReturn(members[k]);
+                long[] bits = taken[k];
+                for (int w = width; w >= risk && risk >= 0; w--) {
+                    double candidate = best[w - risk] + expectedReturn;
+                    if (candidate > best[w]) {
+                        best[w] = candidate;
+                        bits[w >>> 6] |= 1L << w;
+                    }
+                }
+            }
+
+            int count = 0;
+            int[] reachable = new int[width + 1];
+            for (int w = 0; w <= width; w++) {
+                if (best[w] != Double.NEGATIVE_INFINITY) {
+                    reachable[count++] = w;
+                }
+            }
+            levels = Arrays.copyOf(reachable, count);
+        }
+
+        void select(RiskGrid grid, int level, CompactPortfolio selection) {
+            for (int k = members.length - 1; k >= 0; k--) {
+                if ((taken[k][level >>> 6] & (1L << level)) != 0) {
+                    selection.add(members[k]);
+                    level -= grid.getScaledRisk(members[k]);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static final class FrontierTask extends RecursiveAction {
+        private final InvestmentUniverse universe;
+        private final RiskGrid grid;
+        private final SectorFrontier frontier;
+
+        FrontierTask(InvestmentUniverse universe, RiskGrid grid, SectorFrontier frontier) {
+            this.universe = universe;
+            this.grid = grid;
+            this.frontier = frontier;
+        }
+
+        @Override
+        protected void compute() {
+            frontier.compute(universe, grid);
+        }
+    }
+}
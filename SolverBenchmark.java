@@ -0,0 +1,148 @@
+// SolverBenchmark.java in com.portfolio.benchmark
+package com.portfolio.benchmark;
+
+import com.portfolio.algorithm.DiversifiedKnapsackSolver;
+import com.portfolio.algorithm.GreedySolver;
+import com.portfolio.algorithm.KnapsackSolver;
+import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.InvestmentUniverse;
+import com.portfolio.model.Portfolio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SolverBenchmark {
+
+    // Sector cap used for the diversified solver
+    private static final double MAX_SECTOR_ALLOCATION = 0.4;
+
+    // Sector count for the benchmarks whose solvers ignore sectors
+    private static final int DEFAULT_SECTORS = 4;
+
+    /** Universe at the solvers' default risk scaling, for the solvers that ignore sectors and scaling */
+    @State(Scope.Benchmark)
+    public static class Universe {
+        @Param({"100", "1000"})
+        public int n;
+
+        @Param({"50", "200"})
+        public double riskTolerance;
+
+        List<InvestmentOption> investments;
+        InvestmentUniverse universe;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            investments = randomInvestments(n, DEFAULT_SECTORS, 42L);
+            universe = InvestmentUniverse.of(investments);
+        }
+    }
+
+    /** Universe scaled by a configurable factor, for the DP solvers whose table width depends on it */
+    @State(Scope.Benchmark)
+    public static class ScaledUniverse {
+        @Param({"100", "1000"})
+        public int n;
+
+        @Param({"50", "200"})
+        public double riskTolerance;
+
+        // Risk scaling of the DP; 100 is the solvers' default
+        @Param({"10", "100"})
+        public int scaleFactor;
+
+        InvestmentUniverse universe;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            universe = InvestmentUniverse.of(randomInvestments(n, DEFAULT_SECTORS, 42L), scaleFactor);
+        }
+    }
+
+    /** Universe with a configurable number of sectors, for the sector-capped solver */
+    @State(Scope.Benchmark)
+    public static class SectoredUniverse {
+        @Param({"100", "1000"})
+        public int n;
+
+        @Param({"50", "200"})
+        public double riskTolerance;
+
+        @Param({"4", "16"})
+        public int sectors;
+
+        InvestmentUniverse universe;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            universe = InvestmentUniverse.of(randomInvestments(n, sectors, 42L));
+        }
+    }
+
+    /**
+     * Investments with risks in [1, 10) on two decimals and returns loosely correlated with risk,
+     * the same shape as SampleDataGenerator's data but with a configurable number of sectors
+     */
+    static List<InvestmentOption> randomInvestments(int n, int sectors, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<InvestmentOption> investments = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double risk = Math.round((1.0 + random.nextDouble() * 9.0) * 100) / 100.0;
+            double expectedReturn = Math.round((risk * 1.5 + random.nextDouble() * 5.0) * 100) / 100.0;
+            investments.add(new InvestmentOption("Investment " + i, expectedReturn, risk,
+                    "Sector" + random.nextInt(sectors)));
+        }
+        return investments;
+    }
+
+    @Benchmark
+    public Portfolio dynamicProgramming(ScaledUniverse state) {
+        return KnapsackSolver.solveWithDP(state.universe, state.riskTolerance);
+    }
+
+    @Benchmark
+    public Portfolio dynamicProgrammingFromList(Universe state) {
+        // Includes the conversion every list-based caller pays
+        return KnapsackSolver.solveWithDP(state.investments, state.riskTolerance);
+    }
+
+    @Benchmark
+    public Portfolio compactDynamicProgramming(ScaledUniverse state) {
+        return KnapsackSolver.solveWithCompactDP(state.universe, state.riskTolerance);
+    }
+
+    @Benchmark
+    public Portfolio greedyHighestReturnFirst(Universe state) {
+        return GreedySolver.solveHighestReturnFirst(state.universe, state.riskTolerance);
+    }
+
+    @Benchmark
+    public Portfolio greedyBestRatioFirst(Universe state) {
+        return GreedySolver.solveBestRatioFirst(state.universe, state.riskTolerance);
+    }
+
+    @Benchmark
+    public Portfolio diversified(SectoredUniverse state) {
+        return DiversifiedKnapsackSolver.solveWithSectorConstraints(state.universe, state.riskTolerance,
+                MAX_SECTOR_ALLOCATION);
+    }
+}
@@ -0,0 +1,228 @@
+// SolverCache.java in com.portfolio.algorithm
+package com.portfolio.algorithm;
+
+import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.Portfolio;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public class SolverCache {
+
+    private final int maxEntries;
+    private final Map<CacheKey, Portfolio> entries;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a bounded cache that evicts the least recently used result when full.
+     * Cached portfolios are shared between callers and must not be modified.
+     *
+     * @param maxEntries Maximum number of cached portfolios
+     */
+    public SolverCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive, got " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<CacheKey, Portfolio>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, Portfolio> eldest) {
+                return size() > SolverCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Cached KnapsackSolver.solveWithDP
+     */
+    public Portfolio solveWithDP(List<InvestmentOption> investments, double riskTolerance) {
+        return lookup("dp", investments, riskTolerance, 0,
+                () -> KnapsackSolver.solveWithDP(investments, riskTolerance));
+    }
+
+    /**
+     * Cached GreedySolver.solveHighestReturnFirst
+     */
+    public Portfolio solveHighestReturnFirst(List<InvestmentOption> investments, double riskTolerance) {
+        return lookup("greedy-return", investments, riskTolerance, 0,
+                () -> GreedySolver.solveHighestReturnFirst(investments, riskTolerance));
+    }
+
+    /**
+     * Cached GreedySolver.solveBestRatioFirst
+     */
+    public Portfolio solveBestRatioFirst(List<InvestmentOption> investments, double riskTolerance) {
+        return lookup("greedy-ratio", investments, riskTolerance, 0,
+                () -> GreedySolver.solveBestRatioFirst(investments, riskTolerance));
+    }
+
+    /**
+     * Cached DiversifiedKnapsackSolver.solveWithSectorConstraints
+     */
+    public Portfolio solveWithSectorConstraints(List<InvestmentOption> investments, double riskTolerance,
+                                                double maxSectorAllocation) {
+        return lookup("diversified", investments, riskTolerance, maxSectorAllocation,
+                () -> DiversifiedKnapsackSolver.solveWithSectorConstraints(
+                        investments, riskTolerance, maxSectorAllocation));
+    }
+
+    /**
+     * Drops every cached result; call whenever the investment universe is replaced or edited
+     */
+    public synchronized void invalidate() {
+        entries.clear();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Content hash of an investment list: the characters of every name and sector and the exact
+     * bits of every return and of the risk in every dimension, in order. Equal fingerprints only
+     * make two lists candidates for the same universe; see sameInvestments.
+     *
+     * @param investments List of investment options
+     * @return 64-bit fingerprint
+     */
+    public static long fingerprint(List<InvestmentOption> investments) {
+        long hash = 0xcbf29ce484222325L;
+        for (InvestmentOption investment : investments) {
+            hash = mix(hash, investment.getName());
+            hash = mix(hash, Double.doubleToLongBits(investment.getExpectedReturn()));
+            hash = mix(hash, Double.doubleToLongBits(investment.getRiskFactor()));
+            hash = mix(hash, investment.getSector());
+            for (int d = 1; d < investment.getRiskDimensions(); d++) {
+                hash = mix(hash, Double.doubleToLongBits(investment.getRiskFactor(d)));
+            }
+            hash = mix(hash, investment.getRiskDimensions());
+        }
+        return mix(hash, investments.size());
+    }
+
+    /**
+     * Whether two investment lists hold the same names, sectors, returns and risks in every
+     * dimension, in order
+     *
+     * @param a First list of investment options
+     * @param b Second list of investment options
+     * @return true if the lists describe the same universe
+     */
+    public static boolean sameInvestments(List<InvestmentOption> a, List<InvestmentOption> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            InvestmentOption x = a.get(i);
+            InvestmentOption y = b.get(i);
+            if (x == y) {
+                continue;
+            }
+            if (!Objects.equals(x.getName(), y.getName()) || !Objects.equals(x.getSector(), y.getSector())
+                    || Double.compare(x.getExpectedReturn(), y.getExpectedReturn()) != 0
+                    || x.getRiskDimensions() != y.getRiskDimensions()) {
+                return false;
+            }
+            for (int d = 0; d < x.getRiskDimensions(); d++) {
+                if (Double.compare(x.getRiskFactor(d), y.getRiskFactor(d)) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static long mix(long hash, long value) {
+        hash ^= value;
+        hash *= 0x100000001b3L;
+        return hash ^ (hash >>> 29);
+    }
+
+    // Mixes every character, so strings with colliding 32-bit hashCodes still differ
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return mix(hash, -1L);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = mix(hash, value.charAt(i));
+        }
+        return mix(hash, value.length());
+    }
+
+    private Portfolio lookup(String solver, List<InvestmentOption> investments, double riskTolerance,
+                             double parameter, Supplier<Portfolio> solve) {
+        CacheKey key = new CacheKey(solver, fingerprint(investments), investments, riskTolerance, parameter);
+
+        synchronized (this) {
+            Portfolio cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+
+        // Solve outside the lock so other solvers are not blocked meanwhile
+        Portfolio portfolio = solve.get();
+        CacheKey stored = new CacheKey(solver, key.fingerprint, List.copyOf(investments), riskTolerance, parameter);
+        synchronized (this) {
+            entries.put(stored, portfolio);
+        }
+        return portfolio;
+    }
+
+    /**
+     * Identity of a cached result. The fingerprint only selects the hash bucket; keys with equal
+     * fingerprints also compare their investments, so a collision is a miss rather than another
+     * universe's portfolio.
+     */
+    private static final class CacheKey {
+        private final String solver;
+        private final long fingerprint;
+        private final List<InvestmentOption> investments;   // copied when the key is stored
+        private final double riskTolerance;
+        private final double parameter;
+
+        CacheKey(String solver, long fingerprint, List<InvestmentOption> investments, double riskTolerance,
+                 double parameter) {
+            this.solver = solver;
+            this.fingerprint = fingerprint;
+            this.investments = investments;
+            this.riskTolerance = riskTolerance;
+            this.parameter = parameter;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CacheKey)) return false;
+            CacheKey other = (CacheKey) o;
+            return fingerprint == other.fingerprint
+                    && Double.compare(riskTolerance, other.riskTolerance) == 0
+                    && Double.compare(parameter, other.parameter) == 0
+                    && solver.equals(other.solver)
+                    && sameInvestments(investments, other.investments);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = solver.hashCode();
+            result = 31 * result + Long.hashCode(fingerprint);
+            result = 31 * result + Double.hashCode(riskTolerance);
+            result = 31 * result + Double.hashCode(parameter);
+            return result;
+        }
+    }
+}
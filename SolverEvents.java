@@ -0,0 +1,62 @@
+// SolverEvents.java in com.portfolio.algorithm
+package com.portfolio.algorithm;
+
+import java.util.Arrays;
+
+public class SolverEvents {
+
+    private static final SolverListener[] NONE = new SolverListener[0];
+
+    // Copy-on-write, so a solve reads the listeners with a single volatile load and no lock
+    private static volatile SolverListener[] listeners = NONE;
+
+    /**
+     * Registers a listener for all subsequent solves
+     *
+     * @param listener Listener to add
+     */
+    public static synchronized void addListener(SolverListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener must not be null");
+        }
+        SolverListener[] current = listeners;
+        SolverListener[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = listener;
+        listeners = next;
+    }
+
+    /**
+     * Unregisters a listener; does nothing if it was not registered
+     *
+     * @param listener Listener to remove
+     */
+    public static synchronized void removeListener(SolverListener listener) {
+        SolverListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                SolverListener[] next = new SolverListener[current.length - 1];
+                System.arraycopy(current, 0, next, 0, i);
+                System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                listeners = next.length == 0 ? NONE : next;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Solvers check this once per solve and skip all timing and counting when it is false
+     */
+    static boolean isObserved() {
+        return listeners.length > 0;
+    }
+
+    static long now(boolean observed) {
+        return observed ? System.nanoTime() : 0;
+    }
+
+    static void publish(SolverStats stats) {
+        for (SolverListener listener : listeners) {
+            listener.solveCompleted(stats);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+// SolverListener.java in com.portfolio.algorithm
+package com.portfolio.algorithm;
+
+/**
+ * Receives the work counters of every completed solve of KnapsackSolver, GreedySolver and
+ * DiversifiedKnapsackSolver. Register with SolverEvents.addListener; solvers only measure when
+ * at least one listener is registered.
+ */
+public interface SolverListener {
+
+    /**
+     * Called on the solving thread after each solve. Implementations must be thread-safe and
+     * cheap, since concurrent solves report concurrently and the caller waits for the callback.
+     *
+     * @param stats Counters of the solve
+     */
+    void solveCompleted(SolverStats stats);
+}
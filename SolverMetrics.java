@@ -0,0 +1,195 @@
+// SolverMetrics.java in com.portfolio.util
+package com.portfolio.util;
+
+import com.portfolio.algorithm.SolverEvents;
+import com.portfolio.algorithm.SolverListener;
+import com.portfolio.algorithm.SolverStats;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SolverMetrics implements SolverListener {
+
+    private static final String OBJECT_NAME_PREFIX = "com.portfolio:type=SolverMetrics,solver=";
+
+    private final Map<String, Counters> solvers = new ConcurrentHashMap<>();
+    private final MBeanServer server;
+
+    /**
+     * Creates a registry that only keeps the counters in memory
+     */
+    public SolverMetrics() {
+        this(null);
+    }
+
+    /**
+     * Creates a registry that also exposes each solver's counters as an MXBean on the given
+     * server, registered the first time that solver reports
+     *
+     * @param server MBean server, or null to skip JMX
+     */
+    public SolverMetrics(MBeanServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Creates a registry on the platform MBean server and starts listening to all solvers
+     *
+     * @return Registry receiving every subsequent solve
+     */
+    public static SolverMetrics install() {
+        SolverMetrics metrics = new SolverMetrics(ManagementFactory.getPlatformMBeanServer());
+        SolverEvents.addListener(metrics);
+        return metrics;
+    }
+
+    /**
+     * Stops listening and unregisters the MXBeans, so the solvers go back to not measuring at all
+     * once no other listener is left
+     */
+    public void uninstall() {
+        SolverEvents.removeListener(this);
+        if (server == null) {
+            return;
+        }
+        for (String solver : solvers.keySet()) {
+            try {
+                ObjectName name = objectName(solver);
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot unregister metrics for " + solver, e);
+            }
+        }
+    }
+
+    @Override
+    public void solveCompleted(SolverStats stats) {
+        Counters counters = solvers.get(stats.getSolver());
+        if (counters == null) {
+            counters = register(stats.getSolver());
+        }
+        counters.record(stats);
+    }
+
+    public Set<String> getSolvers() {
+        return solvers.keySet();
+    }
+
+    /**
+     * @param solver Solver and method as reported in SolverStats, e.g. "KnapsackSolver.solveWithDP"
+     * @return Counters of that solver, or null if it has not reported yet
+     */
+    public SolverMetricsMXBean get(String solver) {
+        return solvers.get(solver);
+    }
+
+    private synchronized Counters register(String solver) {
+        Counters counters = solvers.get(solver);
+        if (counters != null) {
+            return counters;
+        }
+        counters = new Counters();
+        if (server != null) {
+            try {
+                server.registerMBean(counters, objectName(solver));
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot register metrics for " + solver, e);
+            }
+        }
+        solvers.put(solver, counters);
+        return counters;
+    }
+
+    private static ObjectName objectName(String solver) throws JMException {
+        return new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(solver));
+    }
+
+    /**
+     * Totals and latency distributions of one solver method. Adders and histograms are
+     * lock-free, so concurrent solves never contend on a lock.
+     */
+    private static final class Counters implements SolverMetricsMXBean {
+        private final LongAdder solves = new LongAdder();
+        private final LongAdder investments = new LongAdder();
+        private final LongAdder dpCells = new LongAdder();
+        private final LongAdder tableBytes = new LongAdder();
+        private final LongAdder subsetsEnumerated = new LongAdder();
+        private final LongAdder subsetsPruned = new LongAdder();
+        private final LatencyHistogram solveLatency = new LatencyHistogram();
+        private final LatencyHistogram reconstructionLatency = new LatencyHistogram();
+
+        void record(SolverStats stats) {
+            solves.increment();
+            investments.add(stats.getInvestments());
+            dpCells.add(stats.getDpCells());
+            tableBytes.add(stats.getTableBytes());
+            subsetsEnumerated.add(stats.getSubsetsEnumerated());
+            subsetsPruned.add(stats.getSubsetsPruned());
+            solveLatency.record(stats.getElapsedNanos());
+            reconstructionLatency.record(stats.getReconstructionNanos());
+        }
+
+        @Override
+        public long getSolveCount() {
+            return solves.sum();
+        }
+
+        @Override
+        public long getInvestmentsSolved() {
+            return investments.sum();
+        }
+
+        @Override
+        public long getDpCells() {
+            return dpCells.sum();
+        }
+
+        @Override
+        public long getTableBytes() {
+            return tableBytes.sum();
+        }
+
+        @Override
+        public long getSubsetsEnumerated() {
+            return subsetsEnumerated.sum();
+        }
+
+        @Override
+        public long getSubsetsPruned() {
+            return subsetsPruned.sum();
+        }
+
+        @Override
+        public double getMeanSolveMillis() {
+            return solveLatency.getMeanNanos() / 1e6;
+        }
+
+        @Override
+        public double getP50SolveMillis() {
+            return solveLatency.percentileNanos(0.50) / 1e6;
+        }
+
+        @Override
+        public double getP99SolveMillis() {
+            return solveLatency.percentileNanos(0.99) / 1e6;
+        }
+
+        @Override
+        public double getMeanReconstructionMillis() {
+            return reconstructionLatency.getMeanNanos() / 1e6;
+        }
+
+        @Override
+        public double getP99ReconstructionMillis() {
+            return reconstructionLatency.percentileNanos(0.99) / 1e6;
+        }
+    }
+}
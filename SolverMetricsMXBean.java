@@ -0,0 +1,31 @@
+// SolverMetricsMXBean.java in com.portfolio.util
+package com.portfolio.util;
+
+/**
+ * JMX view of the counters SolverMetrics keeps for one solver method, registered as
+ * com.portfolio:type=SolverMetrics,solver="Class.method"
+ */
+public interface SolverMetricsMXBean {
+
+    long getSolveCount();
+
+    long getInvestmentsSolved();
+
+    long getDpCells();
+
+    long getTableBytes();
+
+    long getSubsetsEnumerated();
+
+    long getSubsetsPruned();
+
+    double getMeanSolveMillis();
+
+    double getP50SolveMillis();
+
+    double getP99SolveMillis();
+
+    double getMeanReconstructionMillis();
+
+    double getP99ReconstructionMillis();
+}
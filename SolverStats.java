@@ -0,0 +1,82 @@
+// SolverStats.java in com.portfolio.algorithm
+package com.portfolio.algorithm;
+
+public class SolverStats {
+    private final String solver;
+    private final int investments;
+    private final long dpCells;
+    private final long tableBytes;
+    private final long subsetsEnumerated;
+    private final long subsetsPruned;
+    private final long elapsedNanos;
+    private final long reconstructionNanos;
+
+    SolverStats(String solver, int investments, long dpCells, long tableBytes,
+                long subsetsEnumerated, long subsetsPruned, long elapsedNanos, long reconstructionNanos) {
+        this.solver = solver;
+        this.investments = investments;
+        this.dpCells = dpCells;
+        this.tableBytes = tableBytes;
+        this.subsetsEnumerated = subsetsEnumerated;
+        this.subsetsPruned = subsetsPruned;
+        this.elapsedNanos = elapsedNanos;
+        this.reconstructionNanos = reconstructionNanos;
+    }
+
+    /**
+     * @return Solver and method, e.g. "KnapsackSolver.solveWithDP"
+     */
+    public String getSolver() {
+        return solver;
+    }
+
+    public int getInvestments() {
+        return investments;
+    }
+
+    /**
+     * @return Number of DP cells computed, 0 for solvers without a table
+     */
+    public long getDpCells() {
+        return dpCells;
+    }
+
+    /**
+     * @return Bytes allocated for DP rows and decision tables
+     */
+    public long getTableBytes() {
+        return tableBytes;
+    }
+
+    /**
+     * @return Subsets evaluated: every subset for exhaustive search, every node for branch and bound
+     */
+    public long getSubsetsEnumerated() {
+        return subsetsEnumerated;
+    }
+
+    /**
+     * @return Branch-and-bound nodes cut off by their bound, each skipping all of its subsets
+     */
+    public long getSubsetsPruned() {
+        return subsetsPruned;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return Time spent recovering the selected investments from the DP table, included in the elapsed time
+     */
+    public long getReconstructionNanos() {
+        return reconstructionNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SolverStats{%s, n=%d, cells=%d, bytes=%d, subsets=%d, pruned=%d, %.3f ms, reconstruction %.3f ms}",
+                solver, investments, dpCells, tableBytes, subsetsEnumerated, subsetsPruned,
+                elapsedNanos / 1e6, reconstructionNanos / 1e6);
+    }
+}
@@ -14,7 +14,8 @@ import java.util.Random;
 public class TimeComplexityAnalysis {
 
     /**
-     * Analyzes and compares the execution time of different algorithms
+     * Analyzes and compares the execution time of different algorithms. Each solver runs once
+     * without warmup; use the JMH suite in com.portfolio.benchmark for stable measurements.
      */
     public static void analyzeAlgorithms() {
         System.out.println("\n=== TIME COMPLEXITY ANALYSIS ===");
@@ -51,27 +52,22 @@ public class TimeComplexityAnalysis {
             endTime = System.currentTimeMillis();
             long greedyRatioTime = endTime - startTime;
 
-            // Diversified (limited to smaller datasets due to exponential complexity)
-            long diversifiedTime = 0;
-            if (size <= 20) {  // Only test for smaller datasets
-                startTime = System.currentTimeMillis();
-                DiversifiedKnapsackSolver.solveWithSectorConstraints(testData, riskTolerance, 0.4);
-                endTime = System.currentTimeMillis();
-                diversifiedTime = endTime - startTime;
-            } else {
-                diversifiedTime = -1; // Too large for brute force
-            }
-
-            System.out.printf("%-10d %-20d %-20d %-20d %-20s\n",
-                    size, dpTime, greedyReturnTime, greedyRatioTime,
-                    diversifiedTime >= 0 ? Long.toString(diversifiedTime) : "N/A");
+            // Diversified (branch and bound, or sector frontiers when it runs out of nodes)
+            startTime = System.currentTimeMillis();
+            DiversifiedKnapsackSolver.solveWithSectorConstraints(testData, riskTolerance, 0.4);
+            endTime = System.currentTimeMillis();
+            long diversifiedTime = endTime - startTime;
+
+            System.out.printf("%-10d %-20d %-20d %-20d %-20d\n",
+                    size, dpTime, greedyReturnTime, greedyRatioTime, diversifiedTime);
         }
 
         // Print theoretical time complexities
         System.out.println("\nTheoretical Time Complexities:");
         System.out.println("- Dynamic Programming (Knapsack): O(n*W) where n is the number of items and W is the capacity");
         System.out.println("- Greedy Algorithms: O(n log n) due to sorting");
-        System.out.println("- Diversified Solver (Brute Force): O(2^n) - exponential complexity");
+        System.out.println("- Diversified Solver (Branch and Bound): O(2^n) worst case, pruned by fractional sector-capped bounds;");
+        System.out.println("  beyond 2^18 nodes it switches to per-sector frontiers, polynomial in the risk grid width");
     }
 
     /**
@@ -0,0 +1,329 @@
+// UniverseSnapshot.java in com.portfolio.util
+package com.portfolio.util;
+
+import com.portfolio.model.InvestmentUniverse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary columnar snapshot of an investment universe. Layout (little-endian, sections aligned
+ * to 8 bytes):
+ * <pre>
+ *   header       magic, version, row count, sector count, scale factor, section offsets
+ *   sectors      per sector: int byte length + UTF-8 name (dictionary for the sector column)
+ *   returns      double[rows]
+ *   risks        double[rows]
+ *   sector ids   int[rows], indexes into the sector dictionary
+ *   name offsets long[rows + 1], start of each name in the heap
+ *   name heap    UTF-8 bytes of all names
+ * </pre>
+ * Opening a snapshot maps each section and validates the header only; values are read from
+ * the mapped buffers on demand, and doubles are stored bit for bit.
+ */
+public class UniverseSnapshot {
+
+    public static final String FILE_EXTENSION = ".snap";
+
+    private static final long MAGIC = 0x31304E5350414E4BL; // "KNAPSN01" read little-endian
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 96;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private final int size;
+    private final int scaleFactor;
+    private final String[] sectorNames;
+    private final DoubleBuffer expectedReturns;
+    private final DoubleBuffer riskFactors;
+    private final IntBuffer sectorIds;
+    private final LongBuffer nameOffsets;
+    private final ByteBuffer nameHeap;
+
+    private UniverseSnapshot(int size, int scaleFactor, String[] sectorNames, DoubleBuffer expectedReturns,
+                             DoubleBuffer riskFactors, IntBuffer sectorIds, LongBuffer nameOffsets,
+                             ByteBuffer nameHeap) {
+        this.size = size;
+        this.scaleFactor = scaleFactor;
+        this.sectorNames = sectorNames;
+        this.expectedReturns = expectedReturns;
+        this.riskFactors = riskFactors;
+        this.sectorIds = sectorIds;
+        this.nameOffsets = nameOffsets;
+        this.nameHeap = nameHeap;
+    }
+
+    /**
+     * Writes a universe as a snapshot file
+     *
+     * @param universe Universe to write
+     * @param filePath Path to the output file
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(InvestmentUniverse universe, String filePath) throws IOException {
+        int n = universe.size();
+
+        byte[][] sectorBytes = new byte[universe.getSectorCount()][];
+        long sectorsLength = 0;
+        for (int s = 0; s < sectorBytes.length; s++) {
+            sectorBytes[s] = universe.getSectorName(s).getBytes(StandardCharsets.UTF_8);
+            sectorsLength += Integer.BYTES + sectorBytes[s].length;
+        }
+
+        long sectorsOffset = HEADER_BYTES;
+        long returnsOffset = align(sectorsOffset + sectorsLength);
+        long risksOffset = returnsOffset + (long) n * Double.BYTES;
+        long sectorIdsOffset = risksOffset + (long) n * Double.BYTES;
+        long nameOffsetsOffset = align(sectorIdsOffset + (long) n * Integer.BYTES);
+        long heapOffset = nameOffsetsOffset + (n + 1L) * Long.BYTES;
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            // The heap length is only known once the names are encoded, so the header is written last
+            channel.position(sectorsOffset);
+            for (byte[] sector : sectorBytes) {
+                ensureRemaining(channel, buffer, Integer.BYTES);
+                buffer.putInt(sector.length);
+                putBytes(channel, buffer, sector);
+            }
+            pad(channel, buffer, returnsOffset - sectorsOffset - sectorsLength);
+
+            for (int i = 0; i < n; i++) {
+                ensureRemaining(channel, buffer, Double.BYTES);
+                buffer.putDouble(universe.getExpectedReturn(i));
+            }
+            for (int i = 0; i < n; i++) {
+                ensureRemaining(channel, buffer, Double.BYTES);
+                buffer.putDouble(universe.getRiskFactor(i));
+            }
+            for (int i = 0; i < n; i++) {
+                ensureRemaining(channel, buffer, Integer.BYTES);
+                buffer.putInt(universe.getSectorId(i));
+            }
+            pad(channel, buffer, nameOffsetsOffset - sectorIdsOffset - (long) n * Integer.BYTES);
+
+            // Offsets first, then the heap they point into
+            byte[][] nameBytes = new byte[n][];
+            long heapLength = 0;
+            for (int i = 0; i < n; i++) {
+                nameBytes[i] = universe.getName(i).getBytes(StandardCharsets.UTF_8);
+                ensureRemaining(channel, buffer, Long.BYTES);
+                buffer.putLong(heapLength);
+                heapLength += nameBytes[i].length;
+            }
+            if (heapLength > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Name heap of " + heapLength + " bytes exceeds the 2 GB section limit");
+            }
+            ensureRemaining(channel, buffer, Long.BYTES);
+            buffer.putLong(heapLength);
+            for (byte[] name : nameBytes) {
+                putBytes(channel, buffer, name);
+            }
+            flush(channel, buffer);
+
+            buffer.putLong(MAGIC);
+            buffer.putInt(VERSION);
+            buffer.putInt(universe.getScaleFactor());
+            buffer.putLong(n);
+            buffer.putInt(sectorBytes.length);
+            buffer.putInt(0); // reserved
+            buffer.putLong(sectorsOffset);
+            buffer.putLong(returnsOffset);
+            buffer.putLong(risksOffset);
+            buffer.putLong(sectorIdsOffset);
+            buffer.putLong(nameOffsetsOffset);
+            buffer.putLong(heapOffset);
+            buffer.putLong(heapLength);
+            buffer.putLong(heapOffset + heapLength);
+            buffer.flip();
+            channel.position(0);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Opens a snapshot by memory-mapping its sections. No values are copied, so opening takes
+     * constant time regardless of the number of investments.
+     *
+     * @param filePath Path to the snapshot file
+     * @return Snapshot view over the mapped file
+     * @throws IOException If the file cannot be read or is not a valid snapshot
+     */
+    public static UniverseSnapshot open(String filePath) throws IOException {
+        Path path = Paths.get(filePath);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) {
+                throw new IOException(filePath + " is too short to be a universe snapshot");
+            }
+            ByteBuffer header = map(channel, 0, HEADER_BYTES);
+            if (header.getLong() != MAGIC) {
+                throw new IOException(filePath + " is not a universe snapshot");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + filePath);
+            }
+            int scaleFactor = header.getInt();
+            long rows = header.getLong();
+            int sectorCount = header.getInt();
+            header.getInt(); // reserved
+            long sectorsOffset = header.getLong();
+            long returnsOffset = header.getLong();
+            long risksOffset = header.getLong();
+            long sectorIdsOffset = header.getLong();
+            long nameOffsetsOffset = header.getLong();
+            long heapOffset = header.getLong();
+            long heapLength = header.getLong();
+            long totalLength = header.getLong();
+            if (totalLength != fileSize || rows > Integer.MAX_VALUE / Double.BYTES) {
+                throw new IOException(filePath + " is truncated or corrupt");
+            }
+            int n = (int) rows;
+
+            ByteBuffer sectors = map(channel, sectorsOffset, returnsOffset - sectorsOffset);
+            String[] sectorNames = new String[sectorCount];
+            for (int s = 0; s < sectorCount; s++) {
+                byte[] bytes = new byte[sectors.getInt()];
+                sectors.get(bytes);
+                sectorNames[s] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            return new UniverseSnapshot(n, scaleFactor, sectorNames,
+                    map(channel, returnsOffset, (long) n * Double.BYTES).asDoubleBuffer(),
+                    map(channel, risksOffset, (long) n * Double.BYTES).asDoubleBuffer(),
+                    map(channel, sectorIdsOffset, (long) n * Integer.BYTES).asIntBuffer(),
+                    map(channel, nameOffsetsOffset, (n + 1L) * Long.BYTES).asLongBuffer(),
+                    map(channel, heapOffset, heapLength));
+        }
+    }
+
+    /**
+     * Checks the magic number at the start of a file
+     *
+     * @param filePath Path to the file
+     * @return true if the file starts like a universe snapshot
+     */
+    public static boolean isSnapshot(String filePath) {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            return channel.read(magic, 0) == Long.BYTES && magic.getLong(0) == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Copies the columns into an InvestmentUniverse. Numeric columns are bulk-copied from the
+     * mapping; names are decoded from the heap.
+     *
+     * @return Universe with the snapshot's values
+     */
+    public InvestmentUniverse toUniverse() {
+        double[] returns = new double[size];
+        double[] risks = new double[size];
+        int[] sectors = new int[size];
+        expectedReturns.get(0, returns);
+        riskFactors.get(0, risks);
+        sectorIds.get(0, sectors);
+
+        String[] names = new String[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = getName(i);
+        }
+        return InvestmentUniverse.fromColumns(names, returns, risks, sectors, sectorNames.clone(), scaleFactor);
+    }
+
+    // Getters
+    public int size() {
+        return size;
+    }
+
+    public String getName(int index) {
+        int start = (int) nameOffsets.get(index);
+        int length = (int) nameOffsets.get(index + 1) - start;
+        byte[] bytes = new byte[length];
+        nameHeap.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public double getExpectedReturn(int index) {
+        return expectedReturns.get(index);
+    }
+
+    public double getRiskFactor(int index) {
+        return riskFactors.get(index);
+    }
+
+    public int getSectorId(int index) {
+        return sectorIds.get(index);
+    }
+
+    public int getSectorCount() {
+        return sectorNames.length;
+    }
+
+    public String getSectorName(int sectorId) {
+        return sectorNames[sectorId];
+    }
+
+    public int getScaleFactor() {
+        return scaleFactor;
+    }
+
+    private static ByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot section of " + length + " bytes exceeds the 2 GB mapping limit");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    private static void ensureRemaining(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
+        }
+    }
+
+    private static void putBytes(FileChannel channel, ByteBuffer buffer, byte[] bytes) throws IOException {
+        int written = 0;
+        while (written < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush(channel, buffer);
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - written);
+            buffer.put(bytes, written, length);
+            written += length;
+        }
+    }
+
+    private static void pad(FileChannel channel, ByteBuffer buffer, long bytes) throws IOException {
+        for (long i = 0; i < bytes; i++) {
+            ensureRemaining(channel, buffer, 1);
+            buffer.put((byte) 0);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,415 @@
+// VectorKnapsackSolver.java in com.portfolio.algorithm
+package com.portfolio.algorithm;
+
+import com.portfolio.model.InvestmentOption;
+import com.portfolio.model.Portfolio;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class VectorKnapsackSolver {
+
+    // Slack used when comparing floating point risk sums against the limits
+    private static final double EPSILON = 1e-9;
+
+    // solve() switches from the exact to the heuristic mode above this many investments
+    private static final int EXACT_MAX_INVESTMENTS = 40;
+
+    // Multiplier updates made by the heuristic mode
+    private static final int SURROGATE_ROUNDS = 40;
+
+    /**
+     * Solves the multi-dimensional knapsack problem: maximize return while the summed risk in
+     * every dimension stays within its limit. Uses solveExact for small inputs and
+     * solveHeuristic for large ones.
+     *
+     * @param investments List of available investment options
+     * @param riskLimits Limit per risk dimension; investments lacking a dimension count 0 in it
+     * @return Optimized portfolio, investments in input order
+     */
+    public static Portfolio solve(List<InvestmentOption> investments, double[] riskLimits) {
+        return investments.size() <= EXACT_MAX_INVESTMENTS
+                ? solveExact(investments, riskLimits)
+                : solveHeuristic(investments, riskLimits);
+    }
+
+    /**
+     * Exact mode for small inputs. Dimensions whose limit no combination of investments can
+     * exceed are dropped, then a dynamic program keeps (risk vector, return) states, discarding
+     * every state that another one dominates (no more risk in any dimension, at least as much
+     * return) and every state whose surrogate bound cannot beat the heuristic solution.
+     *
+     * @param investments List of available investment options
+     * @param riskLimits Limit per risk dimension
+     * @return Optimal portfolio, investments in input order
+     */
+    public static Portfolio solveExact(List<InvestmentOption> investments, double[] riskLimits) {
+        Problem problem = new Problem(investments, riskLimits);
+        problem.improveBySurrogates();
+        problem.searchExactly();
+        return problem.toPortfolio();
+    }
+
+    /**
+     * Heuristic mode for large inputs. Each round collapses the risk dimensions into one
+     * surrogate risk with per-dimension multipliers, takes investments by return per unit of
+     * surrogate risk while the surrogate budget lasts, repairs the result by dropping the
+     * lowest-ratio investments that load an exceeded dimension, and refills with anything that
+     * still fits. Multipliers of dimensions the relaxation overloads are then raised, so the
+     * next round steers away from them. The best repaired portfolio is returned.
+     *
+     * @param investments List of available investment options
+     * @param riskLimits Limit per risk dimension
+     * @return Feasible portfolio, investments in input order
+     */
+    public static Portfolio solveHeuristic(List<InvestmentOption> investments, double[] riskLimits) {
+        Problem problem = new Problem(investments, riskLimits);
+        problem.improveBySurrogates();
+        return problem.toPortfolio();
+    }
+
+    /**
+     * Candidate investments as a flat risk matrix, the surrogate multipliers and the incumbent
+     */
+    private static final class Problem {
+        private final List<InvestmentOption> investments;
+        private final double[] limits;
+        private final int dimensions;
+
+        private final int m;
+        private final int[] indices;       // candidate -> position in the investment list
+        private final double[] profits;
+        private final double[] risks;      // risks[j * dimensions + k]
+        private final boolean[] alwaysTaken;
+
+        private final double[] multipliers;
+        private final boolean[] best;
+        private double bestValue;
+
+        Problem(List<InvestmentOption> investments, double[] riskLimits) {
+            if (riskLimits.length == 0) {
+                throw new IllegalArgumentException("At least one risk limit is required");
+            }
+            this.investments = investments;
+            this.limits = riskLimits.clone();
+            this.dimensions = riskLimits.length;
+
+            // Risk-free gains are always taken; losses and investments over any limit never are
+            int n = investments.size();
+            int[] candidates = new int[n];
+            int count = 0;
+            alwaysTaken = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                InvestmentOption investment = investments.get(i);
+                if (investment.getExpectedReturn() <= 0) {
+                    continue;
+                }
+                boolean fits = true;
+                boolean riskFree = true;
+                for (int k = 0; k < dimensions; k++) {
+                    double risk = investment.getRiskFactor(k);
+                    fits &= risk <= limits[k] + EPSILON;
+                    riskFree &= risk <= 0;
+                }
+                if (riskFree) {
+                    alwaysTaken[i] = true;
+                } else if (fits) {
+                    candidates[count++] = i;
+                }
+            }
+
+            this.m = count;
+            this.indices = Arrays.copyOf(candidates, count);
+            this.profits = new double[m];
+            this.risks = new double[m * dimensions];
+            for (int j = 0; j < m; j++) {
+                InvestmentOption investment = investments.get(indices[j]);
+                profits[j] = investment.getExpectedReturn();
+                for (int k = 0; k < dimensions; k++) {
+                    risks[j * dimensions + k] = investment.getRiskFactor(k);
+                }
+            }
+
+            // Start with every dimension measured as a fraction of its limit
+            this.multipliers = new double[dimensions];
+            for (int k = 0; k < dimensions; k++) {
+                multipliers[k] = 1.0 / Math.max(limits[k], EPSILON);
+            }
+            this.best = new boolean[m];
+        }
+
+        void improveBySurrogates() {
+            boolean[] taken = new boolean[m];
+            double[] usage = new double[dimensions];
+            double[] ratios = new double[m];
+
+            for (int round = 0; round < SURROGATE_ROUNDS; round++) {
+                double budget = 0;
+                for (int k = 0; k < dimensions; k++) {
+                    budget += multipliers[k] * limits[k];
+                }
+                for (int j = 0; j < m; j++) {
+                    double surrogate = surrogateRisk(j);
+                    ratios[j] = surrogate > 0 ? profits[j] / surrogate : Double.POSITIVE_INFINITY;
+                }
+                int[] order = GreedySolver.sortedOrder(ratios);
+
+                // Relaxation: one surrogate constraint instead of one per dimension
+                Arrays.fill(taken, false);
+                Arrays.fill(usage, 0);
+                double used = 0;
+                for (int j : order) {
+                    double surrogate = surrogateRisk(j);
+                    if (used + surrogate <= budget + EPSILON) {
+                        used += surrogate;
+                        take(j, taken, usage);
+                    }
+                }
+
+                // Overloaded dimensions get heavier multipliers next round, with a shrinking step
+                double step = 1.0 / (1 + round);
+                for (int k = 0; k < dimensions; k++) {
+                    double load = usage[k] / Math.max(limits[k], EPSILON);
+                    multipliers[k] *= Math.exp(step * (load - 1));
+                }
+
+                repair(order, taken, usage);
+                fill(order, taken, usage);
+
+                double value = 0;
+                for (int j = 0; j < m; j++) {
+                    if (taken[j]) {
+                        value += profits[j];
+                    }
+                }
+                if (value > bestValue + EPSILON || round == 0) {
+                    bestValue = value;
+                    System.arraycopy(taken, 0, best, 0, m);
+                }
+            }
+        }
+
+        /**
+         * Drops the lowest-ratio taken investments that load an exceeded dimension until all fit
+         */
+        private void repair(int[] order, boolean[] taken, double[] usage) {
+            for (int o = order.length - 1; o >= 0; o--) {
+                int j = order[o];
+                if (!taken[j]) {
+                    continue;
+                }
+                boolean loadsExceeded = false;
+                boolean anyExceeded = false;
+                for (int k = 0; k < dimensions; k++) {
+                    if (usage[k] > limits[k] + EPSILON) {
+                        anyExceeded = true;
+                        loadsExceeded |= risks[j * dimensions + k] > 0;
+                    }
+                }
+                if (!anyExceeded) {
+                    return;
+                }
+                if (loadsExceeded) {
+                    taken[j] = false;
+                    for (int k = 0; k < dimensions; k++) {
+                        usage[k] -= risks[j * dimensions + k];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds, in ratio order, every untaken investment that fits all remaining limits
+         */
+        private void fill(int[] order, boolean[] taken, double[] usage) {
+            for (int j : order) {
+                if (taken[j]) {
+                    continue;
+                }
+                boolean fits = true;
+                for (int k = 0; k < dimensions && fits; k++) {
+                    fits = usage[k] + risks[j * dimensions + k] <= limits[k] + EPSILON;
+                }
+                if (fits) {
+                    take(j, taken, usage);
+                }
+            }
+        }
+
+        private void take(int j, boolean[] taken, double[] usage) {
+            taken[j] = true;
+            for (int k = 0; k < dimensions; k++) {
+                usage[k] += risks[j * dimensions + k];
+            }
+        }
+
+        private double surrogateRisk(int j) {
+            double surrogate = 0;
+            for (int k = 0; k < dimensions; k++) {
+                surrogate += multipliers[k] * risks[j * dimensions + k];
+            }
+            return surrogate;
+        }
+
+        /**
+         * Dominance-pruned DP over the binding dimensions, seeded with the heuristic incumbent
+         */
+        void searchExactly() {
+            // Only dimensions that some combination of candidates can exceed enter the state
+            int[] active = new int[dimensions];
+            int a = 0;
+            for (int k = 0; k < dimensions; k++) {
+                double total = 0;
+                for (int j = 0; j < m; j++) {
+                    total += risks[j * dimensions + k];
+                }
+                if (total > limits[k] + EPSILON) {
+                    active[a++] = k;
+                }
+            }
+            if (a == 0) {
+                Arrays.fill(best, true);
+                return;
+            }
+
+            // Candidates in surrogate-ratio order, with bounds on what the rest can still add.
+            // Any completion spends at most the state's surrogate slack, so it earns at most
+            // that slack times the best remaining return per unit of surrogate risk.
+            double[] ratios = new double[m];
+            for (int j = 0; j < m; j++) {
+                double surrogate = 0;
+                for (int q = 0; q < a; q++) {
+                    surrogate += multipliers[active[q]] * risks[j * dimensions + active[q]];
+                }
+                ratios[j] = surrogate > 0 ? profits[j] / surrogate : Double.POSITIVE_INFINITY;
+            }
+            int[] order = GreedySolver.sortedOrder(ratios.clone());
+            double[] returnFrom = new double[m + 1];
+            double[] bestRatioFrom = new double[m + 1];
+            for (int t = m - 1; t >= 0; t--) {
+                returnFrom[t] = returnFrom[t + 1] + profits[order[t]];
+                bestRatioFrom[t] = Math.max(bestRatioFrom[t + 1], ratios[order[t]]);
+            }
+
+            double[] usage = new double[16 * a];
+            double[] values = new double[16];
+            int states = 1;
+            int[][] links = new int[m][];
+
+            for (int t = 0; t < m && states > 0; t++) {
+                int j = order[t];
+                double[] nextUsage = new double[2 * states * a];
+                double[] nextValues = new double[2 * states];
+                int[] nextLinks = new int[2 * states];
+                int count = 0;
+
+                for (int s = 0; s < states; s++) {
+                    for (int takeIt = 0; takeIt <= 1; takeIt++) {
+                        double value = values[s] + (takeIt == 1 ? profits[j] : 0);
+                        boolean fits = true;
+                        double slack = 0;
+                        for (int q = 0; q < a && fits; q++) {
+                            int k = active[q];
+                            double u = usage[s * a + q] + (takeIt == 1 ? risks[j * dimensions + k] : 0);
+                            fits = u <= limits[k] + EPSILON;
+                            nextUsage[count * a + q] = u;
+                            slack += multipliers[k] * (limits[k] - u);
+                        }
+                        if (!fits) {
+                            continue;
+                        }
+                        double rest = returnFrom[t + 1];
+                        if (bestRatioFrom[t + 1] < Double.POSITIVE_INFINITY) {
+                            rest = Math.min(rest, slack * bestRatioFrom[t + 1]);
+                        }
+                        if (value + rest <= bestValue + EPSILON) {
+                            continue;
+                        }
+                        nextValues[count] = value;
+                        nextLinks[count] = (s << 1) | takeIt;
+                        count++;
+                    }
+                }
+
+                count = removeDominated(nextUsage, nextValues, nextLinks, count, a);
+                links[t] = Arrays.copyOf(nextLinks, count);
+                usage = nextUsage;
+                values = nextValues;
+                states = count;
+            }
+
+            if (states == 0) {
+                return; // nothing beats the heuristic portfolio, so it is optimal
+            }
+            int state = 0;
+            for (int s = 1; s < states; s++) {
+                if (values[s] > values[state]) {
+                    state = s;
+                }
+            }
+            if (values[state] <= bestValue + EPSILON) {
+                return;
+            }
+
+            bestValue = values[state];
+            Arrays.fill(best, false);
+            for (int t = m - 1; t >= 0; t--) {
+                int link = links[t][state];
+                best[order[t]] = (link & 1) != 0;
+                state = link >>> 1;
+            }
+        }
+
+        /**
+         * Compacts the states to those no other state dominates
+         *
+         * @return Number of states kept
+         */
+        private static int removeDominated(double[] usage, double[] values, int[] links, int count, int a) {
+            // Visit states by descending return so a dominating state is always kept first
+            int[] byValue = GreedySolver.sortedOrder(Arrays.copyOf(values, count));
+
+            int[] kept = new int[count];
+            int keptCount = 0;
+            for (int s : byValue) {
+                boolean dominated = false;
+                for (int c = 0; c < keptCount && !dominated; c++) {
+                    int other = kept[c];
+                    dominated = true;
+                    for (int q = 0; q < a && dominated; q++) {
+                        dominated = usage[other * a + q] <= usage[s * a + q];
+                    }
+                }
+                if (!dominated) {
+                    kept[keptCount++] = s;
+                }
+            }
+
+            // Move the kept states to the front, in their original order
+            Arrays.sort(kept, 0, keptCount);
+            for (int c = 0; c < keptCount; c++) {
+                int s = kept[c];
+                System.arraycopy(usage, s * a, usage, c * a, a);
+                values[c] = values[s];
+                links[c] = links[s];
+            }
+            return keptCount;
+        }
+
+        Portfolio toPortfolio() {
+            boolean[] selected = alwaysTaken.clone();
+            for (int j = 0; j < m; j++) {
+                if (best[j]) {
+                    selected[indices[j]] = true;
+                }
+            }
+            Portfolio portfolio = new Portfolio();
+            for (int i = 0; i < selected.length; i++) {
+                if (selected[i]) {
+                    portfolio.addInvestment(investments.get(i));
+                }
+            }
+            return portfolio;
+        }
+    }
+}